@@ -0,0 +1,63 @@
+package com.stca.benchmarks;
+
+import com.stca.utils.DriverPool;
+import com.stca.utils.LoginSession;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Latency of getting a test a usable browser: a pooled lease/release round (including the session reset),
+// and the same round plus the cookie-injected login every test performs.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class DriverSessionBenchmark {
+
+    private final LocalBrowser browser = new LocalBrowser();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        browser.start();
+        // Prime the login cache once so the measured logins take the cookie fast path
+        browser.openInventory();
+        DriverPool.release(browser.driver);
+        browser.driver = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        browser.stop();
+    }
+
+    @Benchmark
+    public void leaseAndRelease() {
+        WebDriver driver = DriverPool.lease();
+        DriverPool.release(driver);
+    }
+
+    @Benchmark
+    public void leaseLoginAndRelease() {
+        WebDriver driver = DriverPool.lease();
+        try {
+            LoginSession.open(driver, "standard_user", "secret_sauce", "/inventory.html");
+        } finally {
+            DriverPool.release(driver);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.stca.benchmarks;
+
+import com.stca.utils.ExcelUtils;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+// Parse cost of the Excel data layer at different sheet sizes: a cold parse (the file looks modified, so the
+// cache misses), a cache hit, and the lazy iterator a DataProvider gets on a cold sheet.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelParseBenchmark {
+
+    private static final String SHEET_NAME = "Sheet1";
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private File file;
+    private long modified;
+
+    @Setup(Level.Trial)
+    public void createSheet() throws IOException {
+        file = File.createTempFile("excel-bench-" + rows + "-", ".xlsx");
+        file.deleteOnExit();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(SHEET_NAME);
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("Username");
+            header.createCell(1).setCellValue("Password");
+            header.createCell(2).setCellValue("Expected");
+            header.createCell(3).setCellValue("PostalCode");
+            for (int i = 1; i <= rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("user_" + i);
+                row.createCell(1).setCellValue("secret_sauce");
+                row.createCell(2).setCellValue(i % 3 == 0 ? "Failure" : "Success");
+                row.createCell(3).setCellValue(10000 + i);
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+        modified = file.lastModified();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSheet() {
+        file.delete();
+    }
+
+    @State(Scope.Thread)
+    public static class ColdFile {
+        // Moving the modification time forward makes ExcelUtils treat the file as edited and parse it again
+        @Setup(Level.Invocation)
+        public void touch(ExcelParseBenchmark benchmark) {
+            benchmark.modified += 1000;
+            benchmark.file.setLastModified(benchmark.modified);
+        }
+    }
+
+    @Benchmark
+    public Object[][] coldParse(ColdFile cold) throws IOException {
+        return ExcelUtils.getTableArray(file.getPath(), SHEET_NAME);
+    }
+
+    @Benchmark
+    public Object[][] cachedTableArray() throws IOException {
+        return ExcelUtils.getTableArray(file.getPath(), SHEET_NAME);
+    }
+
+    @Benchmark
+    public void coldStreamingIterator(ColdFile cold, Blackhole blackhole) throws IOException {
+        Iterator<Object[]> iterator = ExcelUtils.iterateRows(file.getPath(), SHEET_NAME, 1, Integer.MAX_VALUE);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next());
+        }
+    }
+}
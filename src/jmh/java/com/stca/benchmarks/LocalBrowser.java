@@ -0,0 +1,40 @@
+package com.stca.benchmarks;
+
+import com.stca.utils.Aut;
+import com.stca.utils.BrowserProfile;
+import com.stca.utils.DriverPool;
+import com.stca.utils.LocalSauceDemo;
+import com.stca.utils.LoginSession;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+
+// A pooled browser logged in to the local SauceDemo replica, so browser benchmarks measure the harness
+// and chromedriver rather than internet latency. Runs headless unless -Dbrowser.profile says otherwise.
+public class LocalBrowser {
+
+    private final LocalSauceDemo server = new LocalSauceDemo();
+    WebDriver driver;
+
+    void start() throws IOException {
+        if (System.getProperty(BrowserProfile.PROFILE_PROPERTY) == null) {
+            System.setProperty(BrowserProfile.PROFILE_PROPERTY, "headless");
+        }
+        server.start(0);
+        System.setProperty(Aut.BASE_URL_PROPERTY, server.baseUrl());
+        DriverPool.warmUp(DriverPool.maxSize());
+        driver = DriverPool.lease();
+    }
+
+    void openInventory() {
+        LoginSession.open(driver, "standard_user", "secret_sauce", "/inventory.html");
+    }
+
+    void stop() {
+        if (driver != null) {
+            DriverPool.release(driver);
+        }
+        DriverPool.shutdown();
+        server.stop();
+    }
+}
@@ -0,0 +1,82 @@
+package com.stca.benchmarks;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of resolving the same elements on the local inventory page with id, CSS and XPath locators,
+// for a single element and for a whole list.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final By BY_ID = By.id("add-to-cart-sauce-labs-backpack");
+    private static final By BY_CSS = By.cssSelector("#inventory_container button[id='add-to-cart-sauce-labs-backpack']");
+    private static final By BY_XPATH = By.xpath("//div[@id='inventory_container']//button[@id='add-to-cart-sauce-labs-backpack']");
+
+    private static final By PRICES_BY_CLASS = By.className("inventory_item_price");
+    private static final By PRICES_BY_CSS = By.cssSelector("#inventory_container .inventory_item_price");
+    private static final By PRICES_BY_XPATH = By.xpath("//div[@class='inventory_item_price']");
+
+    private final LocalBrowser browser = new LocalBrowser();
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        browser.start();
+        browser.openInventory();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        browser.stop();
+    }
+
+    @Benchmark
+    public WebElement byId() {
+        return browser.driver.findElement(BY_ID);
+    }
+
+    @Benchmark
+    public WebElement byCss() {
+        return browser.driver.findElement(BY_CSS);
+    }
+
+    @Benchmark
+    public WebElement byXpath() {
+        return browser.driver.findElement(BY_XPATH);
+    }
+
+    @Benchmark
+    public List<WebElement> listByClassName() {
+        return browser.driver.findElements(PRICES_BY_CLASS);
+    }
+
+    @Benchmark
+    public List<WebElement> listByCss() {
+        return browser.driver.findElements(PRICES_BY_CSS);
+    }
+
+    @Benchmark
+    public List<WebElement> listByXpath() {
+        return browser.driver.findElements(PRICES_BY_XPATH);
+    }
+}
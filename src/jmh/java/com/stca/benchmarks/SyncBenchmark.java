@@ -0,0 +1,74 @@
+package com.stca.benchmarks;
+
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Per-step overhead of the Sync helpers when their condition already holds, i.e. what every wait costs a
+// test on top of the page work itself. settle() includes the quiet period (-Dsync.quietMillis). Each wait is
+// measured as an in-page event wait and as a WebDriverWait poll (-Dsync.events).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SyncBenchmark {
+
+    private static final By CONTAINER = By.id("inventory_container");
+
+    @Param({"true", "false"})
+    public String events;
+
+    private final LocalBrowser browser = new LocalBrowser();
+    private WebElement container;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        System.setProperty(Sync.EVENTS_PROPERTY, events);
+        browser.start();
+        browser.openInventory();
+        container = browser.driver.findElement(CONTAINER);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        browser.stop();
+    }
+
+    @Benchmark
+    public WebElement visibleByLocator() {
+        return Sync.visible(browser.driver, CONTAINER);
+    }
+
+    @Benchmark
+    public WebElement visibleElement() {
+        return Sync.visible(browser.driver, container);
+    }
+
+    @Benchmark
+    public void urlContains() {
+        Sync.urlContains(browser.driver, "/inventory.html");
+    }
+
+    @Benchmark
+    public void settle() {
+        Sync.settle(browser.driver);
+    }
+}
@@ -0,0 +1,42 @@
+package com.stca;
+
+import com.stca.utils.DriverPool;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+
+// Leases a pooled driver for every test method and keeps it confined to the thread running that method,
+// so test classes can run with parallel="methods" and parallel DataProviders without sharing a browser.
+// The browser of a failed attempt is retired rather than reused, so a retry starts on a fresh session.
+public abstract class BaseTest {
+
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    @BeforeMethod(alwaysRun = true)
+    public void leaseDriver() {
+        driver.set(DriverPool.lease());
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver(ITestResult result) {
+        WebDriver leased = driver.get();
+        driver.remove();
+        if (leased == null) {
+            return;
+        }
+        if (result.getStatus() == ITestResult.FAILURE || result.wasRetried()) {
+            DriverPool.retire(leased);
+        } else {
+            DriverPool.release(leased);
+        }
+    }
+
+    protected WebDriver getDriver() {
+        WebDriver current = driver.get();
+        if (current == null) {
+            throw new IllegalStateException("No driver leased for thread " + Thread.currentThread().getName());
+        }
+        return current;
+    }
+}
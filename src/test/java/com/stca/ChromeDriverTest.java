@@ -1,62 +1,43 @@
-
 package com.stca;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.By;
+import com.stca.pages.CartPage;
+import com.stca.pages.CheckoutCompletePage;
+import com.stca.pages.CheckoutOverviewPage;
+import com.stca.pages.InventoryPage;
+import com.stca.pages.Item;
+import com.stca.utils.DriverPool;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.Assert;
-import org.testng.annotations.AfterTest;
-import org.testng.annotations.BeforeTest;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.List;
 
+// The three tests form one flow on the same browser, so they keep a class-scoped lease
+// and must stay on a single thread even when the suite runs with parallel="methods".
+@Test(singleThreaded = true)
 public class ChromeDriverTest {
     
     private WebDriver driver;
+    private CartPage cart;
     
-    @BeforeTest
+    @BeforeClass
     public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        
-        driver = new ChromeDriver(options);
+        driver = DriverPool.lease();
     }
     
     @Test(priority = 1)
     public void testAddAllProductsToCart() {
-        // Navigate to Sauce Demo website
-        driver.get("https://www.saucedemo.com/");
-        
-        // Login with standard user
-        driver.findElement(By.xpath("//input[@id='user-name']")).sendKeys("standard_user");
-        driver.findElement(By.xpath("//input[@id='password']")).sendKeys("secret_sauce");
-        driver.findElement(By.xpath("//input[@id='login-button']")).click();
-        
-        // Wait for products page to load
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        
-        // Find all add to cart buttons
-        List<WebElement> addButtons = driver.findElements(By.xpath("//button[starts-with(@id, 'add-to-cart')]"));
-        System.out.println("Found " + addButtons.size() + " products to add to cart");
+        // Log in with standard user (reusing the cached session when there is one)
+        InventoryPage inventory = InventoryPage.openAs(driver, "standard_user", "secret_sauce");
         
-        // Add all products to cart
-        for (WebElement button : addButtons) {
-            button.click();
-        }
+        // Add every visible product to the cart in one script call
+        List<String> added = inventory.addAllVisibleToCart();
+        System.out.println("Added " + added.size() + " products to cart");
         
         // Verify cart count equals number of products added
-        WebElement cartBadge = driver.findElement(By.xpath("//span[@class='shopping_cart_badge']"));
-        Assert.assertEquals(Integer.parseInt(cartBadge.getText()), addButtons.size(), 
+        Assert.assertEquals(Integer.parseInt(inventory.cartBadgeText()), added.size(), 
                 "Cart count does not match number of products added");
         
         System.out.println("Successfully added all products to cart");
@@ -64,16 +45,13 @@ public class ChromeDriverTest {
     
     @Test(priority = 2)
     public void testViewCartContents() {
-        driver.findElement(By.xpath("//*[@id='shopping_cart_container']/a")).click();
-        
-        Assert.assertTrue(driver.findElement(By.xpath("//div[@id='cart_contents_container']")).isDisplayed(),
-                "Cart contents not displayed");
+        cart = new InventoryPage(driver).openCart();
         
-        List<WebElement> cartItems = driver.findElements(By.xpath("//div[@class='cart_item']"));
+        List<Item> cartItems = cart.items();
         System.out.println("Number of items in cart: " + cartItems.size());
         
-        for (WebElement item : cartItems) {
-            Assert.assertTrue(item.findElement(By.xpath(".//button[starts-with(@id, 'remove')]")).isDisplayed(),
+        for (Item item : cartItems) {
+            Assert.assertTrue(item.buttonId().startsWith("remove") && item.buttonVisible(),
                     "Remove button not found for item");
         }
         
@@ -82,35 +60,25 @@ public class ChromeDriverTest {
     
     @Test(priority = 3)
     public void testCheckoutProcess() {
-        driver.findElement(By.xpath("//button[@id='checkout']")).click();
-        
-        driver.findElement(By.xpath("//input[@id='first-name']")).sendKeys("Test");
-        driver.findElement(By.xpath("//input[@id='last-name']")).sendKeys("User");
-        driver.findElement(By.xpath("//input[@id='postal-code']")).sendKeys("12345");
-        driver.findElement(By.xpath("//input[@id='continue']")).click();
-        
-        Assert.assertTrue(driver.findElement(By.xpath("//div[@class='checkout_summary_container']")).isDisplayed(), 
-                "Checkout overview not displayed");
+        CheckoutOverviewPage overview = cart.checkout()
+                .fill("Test", "User", "12345")
+                .continueToOverview();
         
-        WebElement summarySubtotal = driver.findElement(By.xpath("//div[@class='summary_subtotal_label']"));
-        Assert.assertTrue(summarySubtotal.isDisplayed(), "Subtotal not displayed");
+        Assert.assertTrue(overview.isSummaryDisplayed(), "Checkout overview not displayed");
+        Assert.assertTrue(overview.isSubtotalDisplayed(), "Subtotal not displayed");
         
-        driver.findElement(By.xpath("//button[@id='finish']")).click();
+        CheckoutCompletePage complete = overview.finish();
         
-        Assert.assertTrue(driver.findElement(By.xpath("//h2[@class='complete-header']")).isDisplayed(), 
-                "Checkout complete message not displayed");
+        Assert.assertTrue(complete.isHeaderDisplayed(), "Checkout complete message not displayed");
         
         System.out.println("Successfully completed checkout process for all items");
-        
-        try {
-            Thread.sleep(300000); // Keep open for 5 minutes
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
     }
     
-    @AfterTest
+    @AfterClass(alwaysRun = true)
     public void tearDown() {
-        System.out.println("Browser left open for verification");
+        if (driver != null) {
+            DriverPool.release(driver);
+        }
+        System.out.println("Browser returned to pool.");
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,218 @@
+package com.stca;
+
+import com.stca.pages.CartPage;
+import com.stca.pages.CheckoutCompletePage;
+import com.stca.pages.CheckoutOverviewPage;
+import com.stca.pages.CheckoutStepOnePage;
+import com.stca.pages.InventoryPage;
+import com.stca.pages.LoginPage;
+import com.stca.utils.BrowserTasks;
+import com.stca.utils.LoadStats;
+import com.stca.utils.Sync;
+import com.stca.utils.ThinkTime;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.ITestContext;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Synthetic load: replays the checkout, cart and filter flows as N concurrent shoppers, each a virtual thread that
+// leases a pooled browser per visit, with a ramp-up and think time between steps. Shoppers beyond the pool size
+// (-Ddriver.pool.size) wait for a free browser. Not part of testng.xml; run it through load.xml with
+// the load profile, which uses headless browsers and the local SauceDemo replica:
+//   mvn test -Pload -Dload.users=10 -Dload.durationSeconds=120 -Dload.thinkTime=exp:500
+public class LoadTest {
+
+    private static final String USERNAME = "standard_user";
+    private static final String PASSWORD = "secret_sauce";
+    private static final List<String> SCENARIOS = List.of("checkout", "cart", "filter");
+
+    private final int users = Integer.getInteger("load.users", 4);
+    private final long rampUpMillis = Long.getLong("load.rampUpSeconds", 10L) * 1000;
+    private final long durationMillis = Long.getLong("load.durationSeconds", 60L) * 1000;
+    // Iterations per shopper; 0 runs until the duration is up
+    private final int iterations = Integer.getInteger("load.iterations", 0);
+    private final ThinkTime thinkTime = ThinkTime.parse(System.getProperty("load.thinkTime", "exp:500"));
+    // Scenario weights, e.g. checkout=2,cart=1,filter=1
+    private final Map<String, Integer> mix = parseMix(System.getProperty("load.mix", "checkout=2,cart=1,filter=1"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+
+    private final LoadStats stats = new LoadStats();
+    // Think time paused so far in the current visit of each shopper, left out of the scenario latency
+    private final ThreadLocal<long[]> thinkNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Test(description = "Replays the storefront flows with concurrent simulated shoppers.")
+    public void runLoad(ITestContext context) throws Exception {
+        System.out.println("Load: " + users + " shoppers, ramp-up " + rampUpMillis / 1000 + " s, "
+                + (iterations > 0 ? iterations + " iterations each" : durationMillis / 1000 + " s") + ", think time " + thinkTime + ", mix " + mix);
+
+        long deadline = System.currentTimeMillis() + rampUpMillis + durationMillis;
+        stats.start();
+        try (BrowserTasks tasks = new BrowserTasks()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int user = 0; user < users; user++) {
+                long startDelay = users == 1 ? 0 : rampUpMillis * user / (users - 1);
+                futures.add(tasks.submit(() -> {
+                    shop(tasks, startDelay, deadline);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        stats.finish();
+
+        stats.print();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", users);
+        settings.put("rampUpSeconds", rampUpMillis / 1000);
+        settings.put("durationSeconds", durationMillis / 1000);
+        settings.put("iterations", iterations);
+        settings.put("thinkTime", thinkTime.toString());
+        settings.put("mix", mix);
+        try {
+            stats.writeReport(Path.of(context.getOutputDirectory()).getParent(), settings);
+        } catch (IOException e) {
+            System.err.println("Could not write load report: " + e.getMessage());
+        }
+
+        long completed = 0;
+        long failed = 0;
+        for (String scenario : mix.keySet()) {
+            completed += stats.count(scenario);
+            failed += stats.errors(scenario);
+        }
+        Assert.assertTrue(completed > 0, "No scenario completed during the load run.");
+        double errorRate = (double) failed / (completed + failed);
+        Assert.assertTrue(errorRate <= maxErrorRate, "Scenario error rate " + errorRate + " exceeds " + maxErrorRate);
+    }
+
+    private void shop(BrowserTasks tasks, long startDelay, long deadline) throws Exception {
+        Thread.sleep(startDelay); // ramp-up schedule
+        int done = 0;
+        while (iterations > 0 ? done < iterations : System.currentTimeMillis() < deadline) {
+            String scenario = pickScenario();
+            // A fresh lease per iteration starts every shopper visit from a reset, logged-out browser
+            tasks.withBrowser(driver -> {
+                visit(driver, scenario);
+                return null;
+            });
+            done++;
+        }
+    }
+
+    private void visit(WebDriver driver, String scenario) throws InterruptedException {
+        long[] thought = thinkNanos.get();
+        thought[0] = 0;
+        long start = System.nanoTime();
+        try {
+            switch (scenario) {
+                case "checkout" -> checkout(driver);
+                case "cart" -> cart(driver);
+                case "filter" -> filter(driver);
+                default -> throw new IllegalArgumentException("Unknown load scenario: " + scenario);
+            }
+            stats.success(scenario, System.nanoTime() - start - thought[0]);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception | AssertionError e) {
+            stats.error(scenario);
+            System.err.println("Load scenario " + scenario + " failed: " + e.getMessage());
+        }
+    }
+
+    // Mirrors CheckoutTest.testCompleteCheckoutProcess.
+    private void checkout(WebDriver driver) throws InterruptedException {
+        InventoryPage inventory = step("checkout.login", () -> login(driver));
+        CartPage cart = step("checkout.addAndOpenCart", () -> inventory.addToCart("sauce-labs-backpack").openCart());
+        CheckoutStepOnePage stepOne = step("checkout.startCheckout", cart::checkout);
+        CheckoutOverviewPage overview = step("checkout.fillAndContinue", () -> stepOne.fill("Test", "User", "12345").continueToOverview());
+        CheckoutCompletePage complete = step("checkout.finish", overview::finish);
+        Assert.assertEquals(complete.headerText(), "Thank you for your order!");
+    }
+
+    // Mirrors CartTest.testAddSingleItemToCart.
+    private void cart(WebDriver driver) throws InterruptedException {
+        InventoryPage inventory = step("cart.login", () -> login(driver));
+        step("cart.addToCart", () -> {
+            inventory.addToCart("sauce-labs-backpack");
+            Sync.settle(driver);
+            return null;
+        });
+        Assert.assertEquals(inventory.cartBadgeText(), "1");
+    }
+
+    // Mirrors FilterTest.testSortPriceLowToHigh.
+    private void filter(WebDriver driver) throws InterruptedException {
+        InventoryPage inventory = step("filter.login", () -> login(driver));
+        step("filter.sortLowToHigh", () -> inventory.sortBy("lohi"));
+        step("filter.readPrices", inventory::items);
+    }
+
+    // Real UI login every iteration: under load the login page is part of what is being measured.
+    private InventoryPage login(WebDriver driver) {
+        LoginPage loginPage = new LoginPage(driver).open();
+        if (!loginPage.loginAndWaitForOutcome(USERNAME, PASSWORD)) {
+            throw new IllegalStateException("Login failed: " + loginPage.errorMessage());
+        }
+        return new InventoryPage(driver).waitUntilLoaded();
+    }
+
+    // Times one step, records it under 'name', then pauses for the shopper's think time, which is not part of
+    // either the step or the scenario latency.
+    private <T> T step(String name, Supplier<T> action) throws InterruptedException {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | AssertionError e) {
+            stats.error(name);
+            throw e;
+        }
+        stats.success(name, System.nanoTime() - start);
+        long thinkStart = System.nanoTime();
+        thinkTime.pause();
+        thinkNanos.get()[0] += System.nanoTime() - thinkStart;
+        return result;
+    }
+
+    private String pickScenario() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int ticket = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty load mix");
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (!SCENARIOS.contains(pair[0].trim())) {
+                throw new IllegalArgumentException("Unknown load scenario '" + pair[0].trim() + "', expected one of " + SCENARIOS);
+            }
+            int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(pair[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no scenario with a positive weight: " + spec);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,51 @@
+package com.stca.pages;
+
+import com.stca.utils.BulkDom;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Common plumbing for the page objects: the driver and the single-script row reads.
+public abstract class BasePage {
+
+    protected static final By CART_LINK = By.cssSelector("a.shopping_cart_link");
+    protected static final By CART_BADGE = By.cssSelector("span.shopping_cart_badge");
+    protected static final By ERROR_MESSAGE = By.cssSelector("h3[data-test='error']");
+
+    // Field specs for BulkDom.query, evaluated relative to each inventory or cart row
+    private static final Map<String, String> ROW_FIELDS = Map.of(
+            "name", ".inventory_item_name",
+            "price", ".inventory_item_price",
+            "buttonId", "button@id",
+            "buttonText", "button",
+            "buttonVisible", "button?visible");
+
+    protected final WebDriver driver;
+
+    protected BasePage(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    // Cart badge text, or "" when the cart is empty and the badge is not rendered.
+    public String cartBadgeText() {
+        return driver.findElements(CART_BADGE).stream().findFirst().map(e -> e.getText()).orElse("");
+    }
+
+    public CartPage openCart() {
+        driver.findElement(CART_LINK).click();
+        return new CartPage(driver).waitUntilLoaded();
+    }
+
+    // Every row matching rowSelector, read in one round trip.
+    protected List<Item> readRows(String rowSelector) {
+        List<Item> items = new ArrayList<>();
+        for (Map<String, Object> row : BulkDom.query(driver, rowSelector, ROW_FIELDS)) {
+            items.add(new Item((String) row.get("name"), (String) row.get("price"), (String) row.get("buttonId"),
+                    (String) row.get("buttonText"), Boolean.TRUE.equals(row.get("buttonVisible"))));
+        }
+        return items;
+    }
+}
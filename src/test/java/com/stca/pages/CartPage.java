@@ -0,0 +1,46 @@
+package com.stca.pages;
+
+import com.stca.utils.PagePerformance;
+import com.stca.utils.StepTimings;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Optional;
+
+public class CartPage extends BasePage {
+
+    private static final By CHECKOUT_BUTTON = By.id("checkout");
+
+    public CartPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public CartPage waitUntilLoaded() {
+        Sync.urlContains(driver, "/cart.html");
+        StepTimings.setPage("/cart.html");
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    public List<Item> items() {
+        return readRows(".cart_list .cart_item");
+    }
+
+    public Optional<Item> item(String name) {
+        return items().stream().filter(item -> item.name().equals(name)).findFirst();
+    }
+
+    public CartPage remove(String slug) {
+        driver.findElement(By.id("remove-" + slug)).click();
+        Sync.settle(driver);
+        PagePerformance.action(driver, "remove");
+        return this;
+    }
+
+    public CheckoutStepOnePage checkout() {
+        driver.findElement(CHECKOUT_BUTTON).click();
+        return new CheckoutStepOnePage(driver).waitUntilLoaded();
+    }
+}
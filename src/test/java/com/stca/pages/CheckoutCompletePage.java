@@ -0,0 +1,31 @@
+package com.stca.pages;
+
+import com.stca.utils.PagePerformance;
+import com.stca.utils.StepTimings;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+public class CheckoutCompletePage extends BasePage {
+
+    private static final By HEADER = By.cssSelector("h2.complete-header");
+
+    public CheckoutCompletePage(WebDriver driver) {
+        super(driver);
+    }
+
+    public CheckoutCompletePage waitUntilLoaded() {
+        Sync.urlContains(driver, "/checkout-complete.html");
+        StepTimings.setPage("/checkout-complete.html");
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    public String headerText() {
+        return driver.findElement(HEADER).getText();
+    }
+
+    public boolean isHeaderDisplayed() {
+        return driver.findElement(HEADER).isDisplayed();
+    }
+}
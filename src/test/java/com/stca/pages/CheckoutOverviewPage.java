@@ -0,0 +1,44 @@
+package com.stca.pages;
+
+import com.stca.utils.PagePerformance;
+import com.stca.utils.StepTimings;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+public class CheckoutOverviewPage extends BasePage {
+
+    private static final By SUMMARY = By.className("checkout_summary_container");
+    private static final By SUBTOTAL = By.className("summary_subtotal_label");
+    private static final By FINISH_BUTTON = By.id("finish");
+
+    public CheckoutOverviewPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public CheckoutOverviewPage waitUntilLoaded() {
+        Sync.urlContains(driver, "/checkout-step-two.html");
+        StepTimings.setPage("/checkout-step-two.html");
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    public List<Item> items() {
+        return readRows(".cart_list .cart_item");
+    }
+
+    public boolean isSummaryDisplayed() {
+        return driver.findElement(SUMMARY).isDisplayed();
+    }
+
+    public boolean isSubtotalDisplayed() {
+        return driver.findElement(SUBTOTAL).isDisplayed();
+    }
+
+    public CheckoutCompletePage finish() {
+        driver.findElement(FINISH_BUTTON).click();
+        return new CheckoutCompletePage(driver).waitUntilLoaded();
+    }
+}
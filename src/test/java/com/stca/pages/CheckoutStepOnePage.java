@@ -0,0 +1,61 @@
+package com.stca.pages;
+
+import com.stca.utils.Aut;
+import com.stca.utils.PagePerformance;
+import com.stca.utils.StepTimings;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+public class CheckoutStepOnePage extends BasePage {
+
+    private static final By FIRST_NAME = By.id("first-name");
+    private static final By LAST_NAME = By.id("last-name");
+    private static final By POSTAL_CODE = By.id("postal-code");
+    private static final By CONTINUE_BUTTON = By.id("continue");
+
+    public CheckoutStepOnePage(WebDriver driver) {
+        super(driver);
+    }
+
+    public static CheckoutStepOnePage open(WebDriver driver) {
+        driver.get(Aut.url("/checkout-step-one.html"));
+        return new CheckoutStepOnePage(driver).waitUntilLoaded();
+    }
+
+    public CheckoutStepOnePage waitUntilLoaded() {
+        Sync.urlContains(driver, "/checkout-step-one.html");
+        StepTimings.setPage("/checkout-step-one.html");
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    // Empty or null values leave the field blank, so validation errors can be exercised.
+    public CheckoutStepOnePage fill(String firstName, String lastName, String postalCode) {
+        type(FIRST_NAME, firstName);
+        type(LAST_NAME, lastName);
+        type(POSTAL_CODE, postalCode);
+        return this;
+    }
+
+    public void submit() {
+        driver.findElement(CONTINUE_BUTTON).click();
+    }
+
+    public CheckoutOverviewPage continueToOverview() {
+        submit();
+        return new CheckoutOverviewPage(driver).waitUntilLoaded();
+    }
+
+    // Error banner text, or null when no error is shown.
+    public String errorMessage() {
+        Sync.settle(driver);
+        return driver.findElements(ERROR_MESSAGE).stream().findFirst().map(e -> e.getText()).orElse(null);
+    }
+
+    private void type(By field, String value) {
+        if (value != null && !value.isEmpty()) {
+            driver.findElement(field).sendKeys(value);
+        }
+    }
+}
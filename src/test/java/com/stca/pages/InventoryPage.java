@@ -0,0 +1,60 @@
+package com.stca.pages;
+
+import com.stca.utils.BulkDom;
+import com.stca.utils.LoginSession;
+import com.stca.utils.PagePerformance;
+import com.stca.utils.StepTimings;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Select;
+
+import java.util.List;
+
+public class InventoryPage extends BasePage {
+
+    static final By CONTAINER = By.id("inventory_container");
+    private static final By SORT_DROPDOWN = By.className("product_sort_container");
+
+    public InventoryPage(WebDriver driver) {
+        super(driver);
+    }
+
+    // Opens the inventory as the given user, reusing a cached login session when possible.
+    public static InventoryPage openAs(WebDriver driver, String username, String password) {
+        LoginSession.open(driver, username, password, "/inventory.html");
+        return new InventoryPage(driver).waitUntilLoaded();
+    }
+
+    public InventoryPage waitUntilLoaded() {
+        Sync.visible(driver, CONTAINER);
+        StepTimings.setPage("/inventory.html");
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    public List<Item> items() {
+        return readRows("#inventory_container .inventory_item");
+    }
+
+    // 'slug' is the product part of the button ids, e.g. "sauce-labs-backpack".
+    public InventoryPage addToCart(String slug) {
+        driver.findElement(By.id("add-to-cart-" + slug)).click();
+        return this;
+    }
+
+    // Clicks every visible "Add to cart" button in a single script call and returns the button ids clicked.
+    public List<String> addAllVisibleToCart() {
+        List<String> clicked = BulkDom.clickAll(driver, "#inventory_container button[id^='add-to-cart']");
+        Sync.settle(driver);
+        PagePerformance.action(driver, "addAllVisibleToCart");
+        return clicked;
+    }
+
+    public InventoryPage sortBy(String value) {
+        new Select(driver.findElement(SORT_DROPDOWN)).selectByValue(value);
+        Sync.settle(driver);
+        PagePerformance.action(driver, "sortBy");
+        return this;
+    }
+}
@@ -0,0 +1,9 @@
+package com.stca.pages;
+
+// One inventory or cart row as read from the page in a single script call.
+public record Item(String name, String price, String buttonId, String buttonText, boolean buttonVisible) {
+
+    public double priceValue() {
+        return Double.parseDouble(price.replace("$", ""));
+    }
+}
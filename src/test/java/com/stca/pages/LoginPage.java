@@ -0,0 +1,42 @@
+package com.stca.pages;
+
+import com.stca.utils.Aut;
+import com.stca.utils.PagePerformance;
+import com.stca.utils.Sync;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+public class LoginPage extends BasePage {
+
+    private static final By USERNAME = By.id("user-name");
+    private static final By PASSWORD = By.id("password");
+    private static final By LOGIN_BUTTON = By.id("login-button");
+
+    public LoginPage(WebDriver driver) {
+        super(driver);
+    }
+
+    public LoginPage open() {
+        driver.get(Aut.baseUrl());
+        PagePerformance.navigation(driver);
+        return this;
+    }
+
+    public void submit(String username, String password) {
+        driver.findElement(USERNAME).sendKeys(username);
+        driver.findElement(PASSWORD).sendKeys(password);
+        driver.findElement(LOGIN_BUTTON).click();
+    }
+
+    // Submits the form and waits for whichever outcome appears first; true when the inventory page loaded.
+    public boolean loginAndWaitForOutcome(String username, String password) {
+        submit(username, password);
+        Sync.anyVisible(driver, "loginOutcome", InventoryPage.CONTAINER, ERROR_MESSAGE);
+        return !driver.findElements(InventoryPage.CONTAINER).isEmpty();
+    }
+
+    // Error banner text, or null when no error is shown.
+    public String errorMessage() {
+        return driver.findElements(ERROR_MESSAGE).stream().findFirst().map(e -> e.getText()).orElse(null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.stca.pages;
+
+import com.stca.utils.Scenarios;
+import com.stca.utils.Scenarios.Step;
+import com.stca.utils.Sync;
+
+// The shopping steps the flows share, for Scenarios.reach(...). Each step starts on the page the previous one
+// ended on and ends once the application has stored its effect.
+public class ShopSteps {
+
+    private ShopSteps() {
+    }
+
+    public static Step login(String username, String password) {
+        return Scenarios.step("login:" + username, driver -> InventoryPage.openAs(driver, username, password));
+    }
+
+    // 'slug' is the product part of the button ids, e.g. "sauce-labs-backpack".
+    public static Step addToCart(String slug) {
+        return Scenarios.step("addToCart:" + slug, driver -> {
+            new InventoryPage(driver).addToCart(slug);
+            Sync.settle(driver);
+        });
+    }
+
+    public static Step openCart() {
+        return Scenarios.step("openCart", driver -> new InventoryPage(driver).openCart());
+    }
+
+    public static Step checkout() {
+        return Scenarios.step("checkout", driver -> new CartPage(driver).checkout());
+    }
+
+    // Fills and submits the customer form, ending on the overview page.
+    public static Step customerInfo(String firstName, String lastName, String postalCode) {
+        return Scenarios.step("customerInfo:" + firstName + "|" + lastName + "|" + postalCode,
+                driver -> new CheckoutStepOnePage(driver).fill(firstName, lastName, postalCode).continueToOverview());
+    }
+}
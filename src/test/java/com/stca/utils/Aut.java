@@ -0,0 +1,26 @@
+package com.stca.utils;
+
+// Where the application under test lives. Defaults to the public SauceDemo site; -Daut.baseUrl=... points the
+// suite at another deployment, and LocalSauceDemoListener sets it to the bundled local replica when -Daut.local=true.
+public class Aut {
+
+    public static final String BASE_URL_PROPERTY = "aut.baseUrl";
+    public static final String DEFAULT_BASE_URL = "https://www.saucedemo.com/";
+
+    private Aut() {
+    }
+
+    // Base URL with a trailing slash.
+    public static String baseUrl() {
+        String baseUrl = System.getProperty(BASE_URL_PROPERTY, "").trim();
+        if (baseUrl.isEmpty()) {
+            return DEFAULT_BASE_URL;
+        }
+        return baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    // Absolute URL of 'path', e.g. url("/inventory.html").
+    public static String url(String path) {
+        return baseUrl() + (path.startsWith("/") ? path.substring(1) : path);
+    }
+}
@@ -0,0 +1,113 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// With -Ddriver.isolation=context, every lease gets its own incognito-style browser context: a tab in a new DevTools
+// browser context (Target.createBrowserContext), which has its own cookies, storage, cache and IndexedDB. Releasing
+// the lease closes the tab and disposes the context, so nothing a test or data row stored can reach the next one,
+// while the Chrome process itself is reused. The pooled session's original tab stays open on about:blank.
+public class BrowserContexts {
+
+    public static final String ISOLATION_PROPERTY = "driver.isolation";
+
+    private record Context(String id, String defaultHandle) {
+    }
+
+    private static final Map<WebDriver, Context> open = new ConcurrentHashMap<>();
+    private static volatile boolean unsupported;
+
+    private BrowserContexts() {
+    }
+
+    public static boolean enabled() {
+        return !unsupported && "context".equalsIgnoreCase(System.getProperty(ISOLATION_PROPERTY, "reset").trim());
+    }
+
+    // Opens a fresh context with one blank tab and switches 'driver' to it. If the browser does not support it,
+    // context isolation is switched off for the rest of the run and leases fall back to the regular reset.
+    public static void open(WebDriver driver) {
+        if (!enabled() || open.containsKey(driver)) {
+            return;
+        }
+        if (!(driver instanceof HasCdp cdp)) {
+            unsupported("the driver has no DevTools access");
+            return;
+        }
+        String defaultHandle = null;
+        String contextId = null;
+        try {
+            defaultHandle = driver.getWindowHandle();
+            Set<String> before = new HashSet<>(driver.getWindowHandles());
+            contextId = (String) cdp.executeCdpCommand("Target.createBrowserContext", Map.of()).get("browserContextId");
+            cdp.executeCdpCommand("Target.createTarget", Map.of("url", "about:blank", "browserContextId", contextId));
+            Set<String> handles = new HashSet<>(driver.getWindowHandles());
+            handles.removeAll(before);
+            if (handles.size() != 1) {
+                rollBack(driver, cdp, contextId, defaultHandle);
+                unsupported("the new context's tab is not visible to WebDriver");
+                return;
+            }
+            driver.switchTo().window(handles.iterator().next());
+            open.put(driver, new Context(contextId, defaultHandle));
+            // DevTools settings are per tab: block URLs again for the lite profile, re-enable performance metrics
+            BrowserProfile.current().configure(cdp);
+            PagePerformance.forget(driver);
+        } catch (RuntimeException e) {
+            rollBack(driver, cdp, contextId, defaultHandle);
+            unsupported(e.getMessage());
+        }
+    }
+
+    // Undoes a half-opened context so the session is left as the pool handed it out: the map entry is dropped, the
+    // context is disposed (closing its tab) and the driver is back on its original tab. Each step is best effort, as
+    // the failure that got us here may have broken the session as well.
+    private static void rollBack(WebDriver driver, HasCdp cdp, String contextId, String defaultHandle) {
+        open.remove(driver);
+        if (contextId != null) {
+            try {
+                cdp.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            } catch (RuntimeException e) {
+                System.err.println("Could not dispose browser context " + contextId + ": " + e.getMessage());
+            }
+        }
+        if (defaultHandle != null) {
+            try {
+                driver.switchTo().window(defaultHandle);
+            } catch (RuntimeException e) {
+                System.err.println("Could not switch back to the session's original tab: " + e.getMessage());
+            }
+        }
+    }
+
+    // Closes the leased tab and disposes its context, then returns to the session's original tab. Returns false
+    // when 'driver' has no open context, in which case the caller resets the session the regular way.
+    public static boolean close(WebDriver driver) {
+        Context context = open.remove(driver);
+        if (context == null) {
+            return false;
+        }
+        driver.close();
+        driver.switchTo().window(context.defaultHandle());
+        ((HasCdp) driver).executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", context.id()));
+        PagePerformance.forget(driver);
+        return true;
+    }
+
+    // Forgets the context of a session that is being quit; the browser takes its contexts with it.
+    static void discard(WebDriver driver) {
+        open.remove(driver);
+    }
+
+    private static void unsupported(String reason) {
+        if (!unsupported) {
+            unsupported = true;
+            System.err.println("Browser context isolation unavailable (" + reason + "); falling back to resetting sessions.");
+        }
+    }
+}
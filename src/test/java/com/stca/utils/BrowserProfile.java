@@ -0,0 +1,91 @@
+package com.stca.utils;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+
+// Chrome configurations selectable with -Dbrowser.profile=desktop|headless|lite.
+//   desktop  - visible, maximized window (the original setup, handy when debugging locally)
+//   headless - new headless mode with a fixed window size
+//   lite     - headless plus no images, fonts, extensions or third-party requests, for packing many sessions on a CI agent
+public enum BrowserProfile {
+
+    DESKTOP(false, false),
+    HEADLESS(true, false),
+    LITE(true, true);
+
+    public static final String PROFILE_PROPERTY = "browser.profile";
+    public static final String WINDOW_SIZE_PROPERTY = "browser.windowSize";
+    // Extra comma-separated URL patterns blocked by the lite profile, e.g. -Dbrowser.blockedUrls=*cdn.example.com*
+    public static final String BLOCKED_URLS_PROPERTY = "browser.blockedUrls";
+
+    private static final String DEFAULT_WINDOW_SIZE = "1366,768";
+
+    // Fonts have no Chrome switch, so they are blocked by URL together with the analytics and error-reporting
+    // hosts the app under test calls. Patterns use the DevTools '*' wildcard syntax.
+    private static final List<String> BLOCKED_URLS = List.of(
+            "*.woff", "*.woff2", "*.ttf", "*.otf",
+            "*://*.backtrace.io/*", "*google-analytics.com*", "*googletagmanager.com*", "*optimizely.com*");
+
+    private final boolean headless;
+    private final boolean lightweight;
+
+    BrowserProfile(boolean headless, boolean lightweight) {
+        this.headless = headless;
+        this.lightweight = lightweight;
+    }
+
+    public static BrowserProfile current() {
+        String name = System.getProperty(PROFILE_PROPERTY, "desktop").trim();
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + PROFILE_PROPERTY + " '" + name + "', expected one of " + Arrays.toString(values()), e);
+        }
+    }
+
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        // Chrome buffers console messages either way; this lets FailureArtifacts read them when a test fails
+        LoggingPreferences logging = new LoggingPreferences();
+        logging.enable(LogType.BROWSER, Level.ALL);
+        options.setCapability(ChromeOptions.LOGGING_PREFS, logging);
+        if (!headless) {
+            options.addArguments("--start-maximized");
+            return options;
+        }
+
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=" + System.getProperty(WINDOW_SIZE_PROPERTY, DEFAULT_WINDOW_SIZE));
+        options.addArguments("--disable-gpu", "--disable-dev-shm-usage", "--mute-audio");
+        if (lightweight) {
+            options.addArguments("--disable-extensions", "--disable-component-extensions-with-background-pages",
+                    "--disable-background-networking", "--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        return options;
+    }
+
+    // Applies the settings that can only be made through DevTools once the session (or a new tab) is running.
+    public void configure(HasCdp driver) {
+        if (!lightweight) {
+            return;
+        }
+        List<String> urls = new ArrayList<>(BLOCKED_URLS);
+        for (String extra : System.getProperty(BLOCKED_URLS_PROPERTY, "").split(",")) {
+            if (!extra.isBlank()) {
+                urls.add(extra.trim());
+            }
+        }
+        driver.executeCdpCommand("Network.enable", Map.of());
+        driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", urls));
+    }
+}
@@ -0,0 +1,79 @@
+package com.stca.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Snapshot of the client-side state the application keeps: cookies, localStorage, sessionStorage and the current URL.
+// SauceDemo holds its whole session there (the session-username cookie and the cart-contents localStorage entry),
+// so restoring a snapshot puts any browser on the same page in the same state without replaying how it got there.
+public record BrowserState(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage,
+                           String url) {
+
+    private static final String READ_STORAGE_SCRIPT = """
+            var dump = function (storage) {
+                var values = {};
+                for (var i = 0; i < storage.length; i++) {
+                    var key = storage.key(i);
+                    values[key] = storage.getItem(key);
+                }
+                return values;
+            };
+            return [dump(window.localStorage), dump(window.sessionStorage)];
+            """;
+
+    private static final String WRITE_STORAGE_SCRIPT = """
+            window.localStorage.clear();
+            window.sessionStorage.clear();
+            for (var key in arguments[0]) { window.localStorage.setItem(key, arguments[0][key]); }
+            for (var key in arguments[1]) { window.sessionStorage.setItem(key, arguments[1][key]); }
+            """;
+
+    public BrowserState {
+        cookies = Set.copyOf(cookies);
+        localStorage = Map.copyOf(localStorage);
+        sessionStorage = Map.copyOf(sessionStorage);
+    }
+
+    // Reads the state of the page 'driver' is on; three round trips whatever the size of the state.
+    @SuppressWarnings("unchecked")
+    public static BrowserState capture(WebDriver driver) {
+        List<Object> storage = (List<Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new BrowserState(new HashSet<>(driver.manage().getCookies()), strings((Map<String, Object>) storage.get(0)),
+                strings((Map<String, Object>) storage.get(1)), driver.getCurrentUrl());
+    }
+
+    // Replaces the browser's cookies and storage with the snapshot and opens its URL. Returns false when the
+    // application redirected elsewhere instead, typically because the session in the snapshot has expired.
+    public boolean restore(WebDriver driver) {
+        // Cookies and storage can only be set for the origin of the current page
+        if (!driver.getCurrentUrl().startsWith(Aut.baseUrl())) {
+            driver.get(Aut.baseUrl());
+        }
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage, sessionStorage);
+        driver.get(url);
+        Sync.settle(driver);
+        return driver.getCurrentUrl().equals(url);
+    }
+
+    // Clears cookies and storage for the application's origin, e.g. after a failed restore.
+    public static void clear(WebDriver driver) {
+        new BrowserState(Set.of(), Map.of(), Map.of(), Aut.baseUrl()).restore(driver);
+    }
+
+    private static Map<String, String> strings(Map<String, Object> values) {
+        Map<String, String> result = new LinkedHashMap<>();
+        values.forEach((key, value) -> result.put(key, String.valueOf(value)));
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs independent browser-session tasks (load visits, data rows, page checks) on virtual threads. Every task gets
+// its own virtual thread, which parks instead of holding a platform thread while a WebDriver command waits on
+// chromedriver, so thousands of queued tasks cost little memory. A semaphore caps how many tasks hold a pooled
+// browser at once (default: the driver pool size, or -Dtasks.maxBrowsers=N).
+public class BrowserTasks implements AutoCloseable {
+
+    public static final String MAX_BROWSERS_PROPERTY = "tasks.maxBrowsers";
+
+    @FunctionalInterface
+    public interface BrowserTask<T> {
+        T run(WebDriver driver) throws Exception;
+    }
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("browser-task-", 0).factory());
+    private final Semaphore browsers;
+    private final int maxBrowsers;
+    private final AtomicInteger submitted = new AtomicInteger();
+    private final AtomicInteger peakWaiting = new AtomicInteger();
+
+    public BrowserTasks() {
+        this(Integer.getInteger(MAX_BROWSERS_PROPERTY, DriverPool.maxSize()));
+    }
+
+    public BrowserTasks(int maxBrowsers) {
+        // More permits than pooled sessions would only move the wait into DriverPool.lease()
+        this.maxBrowsers = Math.max(1, Math.min(maxBrowsers, DriverPool.maxSize()));
+        this.browsers = new Semaphore(this.maxBrowsers, true);
+    }
+
+    // Runs 'task' on a new virtual thread without a browser, e.g. a load-test shopper that leases one per visit.
+    public <T> Future<T> submit(Callable<T> task) {
+        submitted.incrementAndGet();
+        return executor.submit(task);
+    }
+
+    // Runs 'task' on the calling thread with a leased browser, blocking until a slot is free. The browser is
+    // reset and returned to the pool afterwards, whether the task completed or failed.
+    public <T> T withBrowser(BrowserTask<T> task) throws Exception {
+        peakWaiting.accumulateAndGet(browsers.getQueueLength() + 1, Math::max);
+        browsers.acquire();
+        WebDriver driver = null;
+        try {
+            driver = DriverPool.lease();
+            return task.run(driver);
+        } finally {
+            DriverPool.release(driver);
+            browsers.release();
+        }
+    }
+
+    // Waits for every submitted task to finish.
+    @Override
+    public void close() {
+        executor.close();
+        System.out.println("Browser tasks: " + submitted.get() + " virtual thread(s), " + maxBrowsers
+                + " browser slot(s), at most " + peakWaiting.get() + " task(s) queued for a browser.");
+    }
+}
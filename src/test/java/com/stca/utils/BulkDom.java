@@ -0,0 +1,73 @@
+package com.stca.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads and acts on whole lists of elements with one executeScript call each, instead of one chromedriver
+// round trip per element (findElement, getText, getAttribute, click, ...).
+public class BulkDom {
+
+    // For every element matching arguments[0], evaluates the field specs in arguments[1] relative to it.
+    // A spec is "selector", "selector@attribute" or "selector?visible"; an empty selector means the row itself.
+    // Text is innerText (what the user sees), trimmed; missing elements give "" (or false for ?visible).
+    private static final String QUERY_SCRIPT = """
+            var fields = arguments[1];
+            return Array.from(document.querySelectorAll(arguments[0])).map(function (row) {
+                var result = {};
+                Object.keys(fields).forEach(function (key) {
+                    var spec = fields[key], kind = 'text', arg = null, at = spec.indexOf('@'), q = spec.indexOf('?');
+                    if (at >= 0) { kind = 'attr'; arg = spec.substring(at + 1); spec = spec.substring(0, at); }
+                    else if (q >= 0) { kind = spec.substring(q + 1); spec = spec.substring(0, q); }
+                    var element = spec ? row.querySelector(spec) : row;
+                    if (kind === 'visible') {
+                        result[key] = !!element && element.offsetParent !== null;
+                    } else if (!element) {
+                        result[key] = '';
+                    } else if (kind === 'attr') {
+                        result[key] = element.getAttribute(arg) || '';
+                    } else {
+                        result[key] = (element.innerText || element.textContent || '').trim();
+                    }
+                });
+                return result;
+            });
+            """;
+
+    // Clicks every visible, enabled element matching arguments[0] in document order and returns their ids.
+    private static final String CLICK_ALL_SCRIPT = """
+            var clicked = [];
+            Array.from(document.querySelectorAll(arguments[0])).forEach(function (element) {
+                if (element.offsetParent !== null && !element.disabled) {
+                    element.click();
+                    clicked.push(element.id || '');
+                }
+            });
+            return clicked;
+            """;
+
+    private BulkDom() {
+    }
+
+    // One map per row matching rowSelector, keyed like 'fields' (see QUERY_SCRIPT for the spec format).
+    // Values are Strings, or Booleans for "?visible" specs.
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> query(WebDriver driver, String rowSelector, Map<String, String> fields) {
+        Object raw = ((JavascriptExecutor) driver).executeScript(QUERY_SCRIPT, rowSelector, new LinkedHashMap<>(fields));
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Object row : (List<Object>) raw) {
+            rows.add((Map<String, Object>) row);
+        }
+        return rows;
+    }
+
+    // Clicks every visible, enabled element matching selector in a single call and returns the ids clicked.
+    @SuppressWarnings("unchecked")
+    public static List<String> clickAll(WebDriver driver, String selector) {
+        return new ArrayList<>((List<String>) ((JavascriptExecutor) driver).executeScript(CLICK_ALL_SCRIPT, selector));
+    }
+}
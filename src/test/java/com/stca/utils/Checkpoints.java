@@ -0,0 +1,73 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Named browser states (BrowserState) captured once per JVM and restored into any driver in one step, e.g. "logged in
+// with a backpack in the cart, on the checkout form". Data-driven tests use them so every row starts where its
+// assertions begin instead of repeating the navigation. Unlike Scenarios, which keys snapshots by the steps that
+// produced them, a checkpoint is whatever state its setup leaves, including a page opened by URL.
+public class Checkpoints {
+
+    private static final Map<String, BrowserState> saved = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private static final AtomicLong captures = new AtomicLong();
+    private static final AtomicLong restores = new AtomicLong();
+
+    private Checkpoints() {
+    }
+
+    // Restores checkpoint 'name' into 'driver'. The first caller runs 'setup' on its own driver and captures the
+    // state it ends in; concurrent callers wait for that capture instead of running the setup as well.
+    public static void open(WebDriver driver, String name, Consumer<WebDriver> setup) {
+        if (restore(driver, name)) {
+            return;
+        }
+        ReentrantLock lock = locks.computeIfAbsent(name, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (restore(driver, name)) {
+                return;
+            }
+            setup.accept(driver);
+            save(driver, name);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Captures the current state of 'driver' as checkpoint 'name', replacing an earlier one.
+    private static void save(WebDriver driver, String name) {
+        saved.put(name, BrowserState.capture(driver));
+        captures.incrementAndGet();
+    }
+
+    // Returns false when there is no checkpoint 'name' or the application rejected it (its session expired); a
+    // rejected checkpoint is dropped and the browser's cookies and storage are cleared.
+    private static boolean restore(WebDriver driver, String name) {
+        BrowserState state = saved.get(name);
+        if (state == null) {
+            return false;
+        }
+        if (state.restore(driver)) {
+            restores.incrementAndGet();
+            return true;
+        }
+        System.out.println("Checkpoint '" + name + "' was rejected, capturing it again.");
+        saved.remove(name, state);
+        BrowserState.clear(driver);
+        return false;
+    }
+
+    public static void printSummary() {
+        if (captures.get() == 0) {
+            return;
+        }
+        System.out.println("Checkpoints: " + captures.get() + " captured, " + restores.get() + " restored.");
+    }
+}
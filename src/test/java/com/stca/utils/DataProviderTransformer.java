@@ -0,0 +1,23 @@
+package com.stca.utils;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+
+import java.lang.reflect.Method;
+
+// Lets a run override the parallel flag of every DataProvider with -Ddataprovider.parallel=true|false.
+// The Excel-backed DataProviders are sequential: TestNG reads a parallel DataProvider's whole iterator before running
+// any row, which would hold every streamed row in memory and delay the first one until the sheet is parsed. Runs
+// with small sheets and spare browsers can trade that for parallel rows with -Ddataprovider.parallel=true.
+public class DataProviderTransformer implements IAnnotationTransformer {
+
+    public static final String PARALLEL_PROPERTY = "dataprovider.parallel";
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        String parallel = System.getProperty(PARALLEL_PROPERTY);
+        if (parallel != null && !parallel.isBlank()) {
+            annotation.setParallel(Boolean.parseBoolean(parallel.trim()));
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.stca.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Finds the chromedriver binary once per JVM and points Selenium at it (webdriver.chrome.driver), so neither
+// WebDriverManager nor Selenium Manager runs version detection or network checks for every session. In order:
+//   1. -Dwebdriver.chrome.driver=...  an explicit binary (ShardLauncher passes its resolved binary to the shards)
+//   2. -Ddriver.binaryDir=DIR         a pre-seeded directory; the newest chromedriver under it is used
+//   3. the resolution cache            the binary WebDriverManager resolved in an earlier run, for
+//                                      -Ddriver.binaryTtlHours (default 24), kept in -Ddriver.binaryCache
+//                                      (default ~/.cache/stca/chromedriver.properties)
+//   4. WebDriverManager                resolves (and downloads if needed) and refreshes the cache
+// With -Ddriver.offline=true step 4 is never taken and a stale cache entry is used as is; without any binary the
+// run fails with a message instead of reaching for the network. An online run also falls back to a stale entry
+// when WebDriverManager fails.
+public class DriverBinary {
+
+    public static final String DRIVER_PATH_PROPERTY = "webdriver.chrome.driver";
+    public static final String BINARY_DIR_PROPERTY = "driver.binaryDir";
+    public static final String CACHE_PROPERTY = "driver.binaryCache";
+    public static final String TTL_PROPERTY = "driver.binaryTtlHours";
+    public static final String OFFLINE_PROPERTY = "driver.offline";
+
+    private static final List<String> BINARY_NAMES = List.of("chromedriver", "chromedriver.exe");
+    private static final Pattern VERSION = Pattern.compile("\\d{1,9}(\\.\\d{1,9})*");
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static Path resolved;
+    // The binary came from -Dwebdriver.chrome.driver or -Ddriver.binaryDir, and refresh() must not replace it
+    private static boolean pinned;
+
+    private DriverBinary() {
+    }
+
+    public static boolean offline() {
+        return Boolean.getBoolean(OFFLINE_PROPERTY);
+    }
+
+    public static Path cacheFile() {
+        String file = System.getProperty(CACHE_PROPERTY, "").trim();
+        if (!file.isEmpty()) {
+            return Path.of(file);
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "stca", "chromedriver.properties");
+    }
+
+    // The chromedriver to start sessions with; resolved on the first call and then returned as is.
+    public static Path resolve() {
+        lock.lock();
+        try {
+            if (resolved == null) {
+                long start = System.nanoTime();
+                Resolution resolution = lookUp();
+                resolved = resolution.path();
+                pinned = resolution.pinned();
+                System.setProperty(DRIVER_PATH_PROPERTY, resolved.toString());
+                System.out.println("Using chromedriver " + resolved + " (" + resolution.source() + ", "
+                        + Duration.ofNanos(System.nanoTime() - start).toMillis() + " ms).");
+            }
+            return resolved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Forgets the binary in use and resolves it again through WebDriverManager, e.g. after Chrome updated and no
+    // longer accepts the cached driver. Returns null when that is not possible (offline, a binary the user pinned,
+    // or the lookup failed).
+    public static Path refresh() {
+        lock.lock();
+        try {
+            if (offline() || pinned) {
+                return null;
+            }
+            try {
+                resolved = online();
+            } catch (RuntimeException e) {
+                System.err.println("Could not resolve chromedriver again: " + e.getMessage());
+                return null;
+            }
+            System.setProperty(DRIVER_PATH_PROPERTY, resolved.toString());
+            System.out.println("Using chromedriver " + resolved + " (re-resolved).");
+            return resolved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Resolution(Path path, String source, boolean pinned) {
+    }
+
+    private record CacheEntry(Path path, Instant resolvedAt) {
+    }
+
+    private static Resolution lookUp() {
+        String explicit = System.getProperty(DRIVER_PATH_PROPERTY, "").trim();
+        if (!explicit.isEmpty()) {
+            Path path = Path.of(explicit);
+            if (!Files.isExecutable(path)) {
+                throw new IllegalStateException(DRIVER_PATH_PROPERTY + " points to " + path + ", which is not an executable file");
+            }
+            return new Resolution(path, DRIVER_PATH_PROPERTY, true);
+        }
+
+        String binaryDir = System.getProperty(BINARY_DIR_PROPERTY, "").trim();
+        if (!binaryDir.isEmpty()) {
+            Path path = findIn(Path.of(binaryDir)).orElseThrow(() -> new IllegalStateException(
+                    "No chromedriver binary found under " + BINARY_DIR_PROPERTY + "=" + binaryDir));
+            return new Resolution(path, "pre-seeded " + binaryDir, true);
+        }
+
+        Optional<CacheEntry> cached = readCache();
+        Duration ttl = Duration.ofHours(Long.getLong(TTL_PROPERTY, 24L));
+        if (cached.isPresent() && (offline() || cached.get().resolvedAt().plus(ttl).isAfter(Instant.now()))) {
+            return new Resolution(cached.get().path(), "cached " + cacheFile(), false);
+        }
+        if (offline()) {
+            throw new IllegalStateException("Offline (-D" + OFFLINE_PROPERTY + "=true) and no chromedriver available: set -D"
+                    + BINARY_DIR_PROPERTY + "=DIR, -D" + DRIVER_PATH_PROPERTY + "=FILE or run once online to fill " + cacheFile());
+        }
+        try {
+            return new Resolution(online(), "WebDriverManager", false);
+        } catch (RuntimeException e) {
+            if (cached.isEmpty()) {
+                throw e;
+            }
+            System.err.println("WebDriverManager failed (" + e.getMessage() + "); using the stale cached chromedriver.");
+            return new Resolution(cached.get().path(), "stale cache " + cacheFile(), false);
+        }
+    }
+
+    private static Path online() {
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        manager.setup();
+        Path path = Path.of(manager.getDownloadedDriverPath());
+        writeCache(path, manager.getDownloadedDriverVersion());
+        return path;
+    }
+
+    // Newest chromedriver below 'dir': version-named folders (99.0.4844.51/, 120.0.6099.109/) are compared part by
+    // part as numbers, and a binary without a version folder counts as older than any versioned one.
+    private static Optional<Path> findIn(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.walk(dir, 4)) {
+            return files.filter(file -> BINARY_NAMES.contains(file.getFileName().toString()) && Files.isExecutable(file))
+                    .max(Comparator.comparing((Path file) -> version(dir.relativize(file)), DriverBinary::compareVersions)
+                            .thenComparing(Path::toString));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search " + dir + " for chromedriver", e);
+        }
+    }
+
+    // Numeric parts of the version folder nearest to the binary in 'relative', or an empty array when there is none.
+    private static int[] version(Path relative) {
+        for (int i = relative.getNameCount() - 2; i >= 0; i--) {
+            String name = relative.getName(i).toString();
+            if (VERSION.matcher(name).matches()) {
+                return Arrays.stream(name.split("\\.")).mapToInt(Integer::parseInt).toArray();
+            }
+        }
+        return new int[0];
+    }
+
+    private static int compareVersions(int[] a, int[] b) {
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            int difference = Integer.compare(i < a.length ? a[i] : -1, i < b.length ? b[i] : -1);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    private static Optional<CacheEntry> readCache() {
+        Path file = cacheFile();
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            Path path = Path.of(properties.getProperty("path", ""));
+            Instant resolvedAt = Instant.parse(properties.getProperty("resolvedAt", ""));
+            return Files.isExecutable(path) ? Optional.of(new CacheEntry(path, resolvedAt)) : Optional.empty();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable chromedriver cache " + file + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void writeCache(Path path, String version) {
+        Path file = cacheFile();
+        List<String> lines = List.of("# chromedriver resolved by WebDriverManager (written by DriverBinary)",
+                "path=" + path.toAbsolutePath().toString().replace("\\", "\\\\"),
+                "version=" + (version == null ? "" : version),
+                "resolvedAt=" + Instant.now());
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Concurrent JVMs may refresh the cache at the same time; readers only ever see a complete file
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "chromedriver", ".tmp");
+            Files.write(temp, lines, StandardCharsets.ISO_8859_1);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write chromedriver cache " + file + ": " + e.getMessage());
+        }
+    }
+}
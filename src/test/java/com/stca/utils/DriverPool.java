@@ -0,0 +1,216 @@
+package com.stca.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Keeps a fixed number of Chrome sessions alive for the whole JVM and leases them to tests.
+// A released session is reset (cookies, storage, blank page) and handed to the next caller,
+// so browser startup is paid once per pooled session instead of once per test or data row.
+// Guarded by a ReentrantLock rather than synchronized: starting Chrome blocks for seconds, and a virtual thread
+// (BrowserTasks) blocking inside a monitor would pin its carrier thread.
+public class DriverPool {
+
+    public static final String POOL_SIZE_PROPERTY = "driver.pool.size";
+    public static final String THREADS_PROPERTY = "test.threads";
+    public static final String LEASE_TIMEOUT_PROPERTY = "driver.pool.leaseTimeoutSeconds";
+
+    private static final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private static final List<WebDriver> all = new ArrayList<>();
+    private static final ReentrantLock lock = new ReentrantLock();
+    // The driver most recently leased on each thread, for listeners that need the browser of the running test
+    private static final ThreadLocal<WebDriver> leasedHere = new ThreadLocal<>();
+    private static boolean shutdownHookAdded = false;
+
+    private DriverPool() {
+    }
+
+    // -Ddriver.pool.size, or by default one session per test worker, one per DataProvider worker when DataProviders
+    // run in parallel (test.threads each) and one for ChromeDriverTest's class-scoped lease, so no lease has to
+    // wait for a free browser.
+    public static int maxSize() {
+        Integer size = Integer.getInteger(POOL_SIZE_PROPERTY);
+        if (size == null) {
+            int threads = Integer.getInteger(THREADS_PROPERTY, 0);
+            size = (Boolean.getBoolean(DataProviderTransformer.PARALLEL_PROPERTY) ? 2 * threads : threads) + 1;
+        }
+        return Math.max(1, size);
+    }
+
+    // Starts sessions until the pool holds 'count' of them (capped at maxSize()).
+    public static void warmUp(int count) {
+        int target = Math.min(count, maxSize());
+        while (true) {
+            WebDriver driver = createIfBelow(target);
+            if (driver == null) {
+                break;
+            }
+            idle.offer(driver);
+        }
+        System.out.println("Driver pool warmed up with " + size() + " session(s).");
+    }
+
+    public static WebDriver lease() {
+        WebDriver driver = take();
+        BrowserContexts.open(driver);
+        leasedHere.set(driver);
+        return driver;
+    }
+
+    // The driver leased on the calling thread and not yet released, or null.
+    public static WebDriver current() {
+        return leasedHere.get();
+    }
+
+    private static WebDriver take() {
+        WebDriver driver = idle.poll();
+        if (driver != null) {
+            return driver;
+        }
+        driver = createIfBelow(maxSize());
+        if (driver != null) {
+            return driver;
+        }
+        long timeoutSeconds = Long.getLong(LEASE_TIMEOUT_PROPERTY, 300L);
+        try {
+            driver = idle.poll(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a pooled driver", e);
+        }
+        if (driver == null) {
+            throw new RuntimeException("No pooled driver became available within " + timeoutSeconds + " seconds (pool size " + maxSize() + ")");
+        }
+        return driver;
+    }
+
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (leasedHere.get() == driver) {
+            leasedHere.remove();
+        }
+        try {
+            // Disposing the lease's browser context discards its state; otherwise clear it by hand
+            if (!BrowserContexts.close(driver)) {
+                reset(driver);
+            }
+            idle.offer(driver);
+        } catch (Exception e) {
+            // The session is broken (crashed browser, closed window); drop it so a fresh one is started on demand.
+            System.err.println("Discarding pooled driver that could not be reset: " + e.getMessage());
+            discard(driver);
+        }
+    }
+
+    // Quits a session instead of returning it, e.g. after a failed test, so the next lease gets a different browser.
+    public static void retire(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (leasedHere.get() == driver) {
+            leasedHere.remove();
+        }
+        discard(driver);
+    }
+
+    public static int size() {
+        lock.lock();
+        try {
+            return all.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public static void shutdown() {
+        lock.lock();
+        try {
+            for (WebDriver driver : all) {
+                PagePerformance.forget(driver);
+                try {
+                    driver.quit();
+                } catch (Exception e) {
+                    System.err.println("Error quitting pooled driver: " + e.getMessage());
+                }
+            }
+            all.clear();
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void reset(WebDriver driver) {
+        driver.manage().deleteAllCookies();
+        // Storage can only be cleared from a page of the same origin, so clear before leaving it.
+        if (!driver.getCurrentUrl().startsWith("data:") && !driver.getCurrentUrl().startsWith("about:")) {
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        }
+        driver.get("about:blank");
+    }
+
+    private static void discard(WebDriver driver) {
+        BrowserContexts.discard(driver);
+        PagePerformance.forget(driver);
+        lock.lock();
+        try {
+            all.remove(driver);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Error quitting discarded driver: " + e.getMessage());
+        }
+    }
+
+    private static WebDriver createIfBelow(int limit) {
+        lock.lock();
+        try {
+            if (all.size() >= limit) {
+                return null;
+            }
+            Path binary = DriverBinary.resolve();
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown));
+                shutdownHookAdded = true;
+            }
+
+            BrowserProfile profile = BrowserProfile.current();
+            ChromeDriver driver;
+            try {
+                driver = new ChromeDriver(profile.options());
+            } catch (SessionNotCreatedException e) {
+                // Typically Chrome updated past the cached chromedriver; resolve it again and retry once
+                Path refreshed = DriverBinary.refresh();
+                if (refreshed == null || refreshed.equals(binary)) {
+                    throw e;
+                }
+                driver = new ChromeDriver(profile.options());
+            }
+            try {
+                profile.configure(driver);
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+            WebDriver instrumented = StepTimings.instrument(driver);
+            all.add(instrumented);
+            return instrumented;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.stca.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+// Pre-warms the driver pool before the suite starts and quits every pooled browser when it ends.
+public class DriverPoolListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        DriverPool.warmUp(DriverPool.maxSize());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.shutdown();
+        System.out.println("Driver pool shut down.");
+    }
+}
@@ -0,0 +1,102 @@
+package com.stca.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hands test methods to the worker threads longest-first, using the durations TestDurations kept from previous
+// runs, so the slowest tests (and DataProvider sweeps) start early instead of one of them finishing last on its
+// own. Methods of a singleThreaded class move together, in their original order. Records this run's durations for
+// the next one. The LPT plan for the suite's thread count is only printed: inside one JVM TestNG hands methods to
+// whichever worker is free, so the order is the only effect here; only a split across JVMs can run the packed bins.
+//   -Dschedule.order=off   keeps the testng.xml order
+//   -Dschedule.record=false does not update the history
+public class DurationScheduleListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    public static final String ORDER_PROPERTY = "schedule.order";
+    public static final String RECORD_PROPERTY = "schedule.record";
+
+    private final TestDurations durations = TestDurations.load();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if ("off".equalsIgnoreCase(System.getProperty(ORDER_PROPERTY, "longest")) || durations.isEmpty()) {
+            return methods;
+        }
+        Map<String, Long> classTotals = new LinkedHashMap<>();
+        List<String> tests = new ArrayList<>();
+        List<String> rowTests = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String test = key(method);
+            if (!tests.contains(test)) {
+                tests.add(test);
+                classTotals.merge(method.getRealClass().getName(), durations.estimate(test).totalMillis(), Long::sum);
+                if (method.isDataDriven()) {
+                    rowTests.add(test);
+                }
+            }
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((IMethodInstance instance) -> {
+            ITestNGMethod method = instance.getMethod();
+            return singleThreaded(method) ? classTotals.get(method.getRealClass().getName()) : durations.estimate(key(method)).totalMillis();
+        }).reversed());
+
+        int workers = context.getSuite().getXmlSuite().getThreadCount();
+        System.out.print("Duration schedule for " + workers + " worker(s), longest first:"
+                + System.lineSeparator() + Schedule.describe(Schedule.pack(tests, rowTests, durations, workers)));
+        return ordered;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (!Boolean.parseBoolean(System.getProperty(RECORD_PROPERTY, "true"))) {
+            return;
+        }
+        try {
+            durations.save();
+        } catch (IOException e) {
+            System.err.println("Could not write test durations to " + TestDurations.historyFile() + ": " + e.getMessage());
+        }
+    }
+
+    static String key(ITestNGMethod method) {
+        return method.getRealClass().getName() + "." + method.getMethodName();
+    }
+
+    private void record(ITestResult result) {
+        durations.record(key(result.getMethod()), result.getEndMillis() - result.getStartMillis());
+    }
+
+    // Whether the method's class is @Test(singleThreaded = true), so its methods must stay together on one thread.
+    static boolean singleThreaded(ITestNGMethod method) {
+        Class<?> testClass = method.getRealClass();
+        Test annotation = testClass.getAnnotation(Test.class);
+        return annotation != null && annotation.singleThreaded();
+    }
+}
@@ -1,102 +1,347 @@
 package com.stca.utils;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-// Add this import
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
-
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+// Reads .xlsx test data through POI's streaming (SAX) API, so only the parsed rows are ever held in memory.
+// The column count comes from the header row, and parsed sheets are cached per file, sheet and modification
+// time so every DataProvider call after the first is served from memory.
 public class ExcelUtils {
 
+    // Optional 1-based, inclusive range of data rows served by iterateRows, e.g. -Dexcel.rows=101..200
+    public static final String ROW_RANGE_PROPERTY = "excel.rows";
+
+    private static final int STREAM_BUFFER_ROWS = 256;
+    // A full streamed pass over a sheet up to this size fills the cache; larger sweeps stay streamed
+    private static final int CACHED_STREAM_ROWS = 10_000;
+
+    private static final Map<CacheKey, List<Object[]>> cache = new ConcurrentHashMap<>();
+
     public static Object[][] getTableArray(String filePath, String sheetName) throws IOException {
-        FileInputStream excelFile = new FileInputStream(new File(filePath));
-        Workbook workbook = new XSSFWorkbook(excelFile);
-        Sheet sheet = workbook.getSheet(sheetName);
-
-        if (sheet == null) {
-            workbook.close();
-            excelFile.close();
-            throw new RuntimeException("Sheet with name '" + sheetName + "' not found in file: " + filePath);
-        }
-
-        // Get header row to determine column count
-        Row headerRow = sheet.getRow(0);
-        if (headerRow == null) {
-             workbook.close();
-             excelFile.close();
-             throw new RuntimeException("Header row (row 0) not found in sheet: " + sheetName);
-        }
-        // Use physical number of cells in header to avoid counting empty trailing cells
-        // int columnCount = headerRow.getPhysicalNumberOfCells(); // Original line
-        // If you know the test *always* needs exactly 3 columns, you could hardcode:
-        int columnCount = 3; // Explicitly set column count to 3
-
-
-        List<Object[]> dataList = new ArrayList<>();
-        Iterator<Row> rowIterator = sheet.iterator();
-        DataFormatter formatter = new DataFormatter(); // Use DataFormatter for consistent reading
-
-
-        // Skip header row
-        if (rowIterator.hasNext()) {
-            rowIterator.next();
-        }
-
-        while (rowIterator.hasNext()) {
-            Row row = rowIterator.next();
-            // Iterator<Cell> cellIterator = row.cellIterator(); // Not needed with indexed loop
-            List<Object> cellData = new ArrayList<>();
-            // int columnCount = sheet.getRow(0).getLastCellNum(); // Original potentially problematic line
-
-            // Read cells based on the determined column count from the header
-            for(int i=0; i<columnCount; i++){
-                 Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                 // Use DataFormatter to handle different cell types consistently as String
-                 cellData.add(formatter.formatCellValue(cell));
-
-                 /* // Original switch logic (replaced by DataFormatter)
-                 switch (cell.getCellType()) {
-                    case STRING:
-                        cellData.add(cell.getStringCellValue());
-                        break;
-                    case NUMERIC:
-                         // Handle numeric cells if needed, e.g., convert to String
-                         cellData.add(String.valueOf(cell.getNumericCellValue()));
-                         break;
-                    case BLANK:
-                         cellData.add(""); // Represent blank cells as empty strings
-                         break;
-                    default:
-                         cellData.add(""); // Handle other types as needed
-                 }
-                 */
+        List<Object[]> rows = getRows(filePath, sheetName);
+        Object[][] dataArray = new Object[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+            // Hand out copies so a test mutating its parameters cannot corrupt the cached data
+            dataArray[i] = rows.get(i).clone();
+        }
+        return dataArray;
+    }
+
+    // Data rows (header excluded, blank rows skipped) as an unmodifiable, cached list.
+    public static List<Object[]> getRows(String filePath, String sheetName) throws IOException {
+        File file = resolve(filePath);
+        CacheKey key = new CacheKey(file.getPath(), sheetName, file.lastModified());
+        List<Object[]> rows = cache.get(key);
+        if (rows != null) {
+            return rows;
+        }
+        synchronized (cache) {
+            rows = cache.get(key);
+            if (rows == null) {
+                List<Object[]> parsed = new ArrayList<>();
+                int columnCount = readSheet(file, sheetName, parsed::add);
+                System.out.println("Loaded " + parsed.size() + " rows x " + columnCount + " columns from " + file.getName() + " [" + sheetName + "]");
+                rows = Collections.unmodifiableList(parsed);
+                store(key, rows);
             }
-             // Ensure the row has the expected number of columns, padding if necessary
-             // This might be redundant if data rows are clean, but good for safety
-             while (cellData.size() < columnCount) {
-                cellData.add("");
-             }
-            // Ensure we only add arrays matching the column count
-            // (Sublist might be needed if rows could have *more* than columnCount cells)
-            // For now, assume rows have at most columnCount relevant cells
-            dataList.add(cellData.toArray(new Object[columnCount]));
         }
+        return rows;
+    }
 
-        workbook.close();
-        excelFile.close();
+    // Data rows for Iterator-based DataProviders, limited to the range in the excel.rows system property.
+    public static Iterator<Object[]> iterateRows(String filePath, String sheetName) throws IOException {
+        int fromRow = 1;
+        int toRow = Integer.MAX_VALUE;
+        String range = System.getProperty(ROW_RANGE_PROPERTY);
+        if (range != null && !range.isBlank()) {
+            String[] bounds = range.split("\\.\\.", -1);
+            if (bounds.length != 2) {
+                throw new IllegalArgumentException(ROW_RANGE_PROPERTY + " must look like N..M, got: " + range);
+            }
+            if (!bounds[0].isBlank()) {
+                fromRow = Integer.parseInt(bounds[0].trim());
+            }
+            if (!bounds[1].isBlank()) {
+                toRow = Integer.parseInt(bounds[1].trim());
+            }
+        }
+        return iterateRows(filePath, sheetName, fromRow, toRow);
+    }
 
-        // Convert List<Object[]> to Object[][]
-        Object[][] dataArray = new Object[dataList.size()][];
-        for (int i = 0; i < dataList.size(); i++) {
-            dataArray[i] = dataList.get(i);
+    // Rows fromRow..toRow (1-based data rows, inclusive). A sheet that is already cached is served from memory;
+    // otherwise rows are streamed from a background parser through a small buffer, so the first row is available
+    // immediately and the sheet is never held in memory as a whole. A complete pass over a sheet of at most
+    // CACHED_STREAM_ROWS rows caches it for the next DataProvider call.
+    public static Iterator<Object[]> iterateRows(String filePath, String sheetName, int fromRow, int toRow) throws IOException {
+        File file = resolve(filePath);
+        CacheKey key = new CacheKey(file.getPath(), sheetName, file.lastModified());
+        List<Object[]> cached = cache.get(key);
+        if (cached != null) {
+            int from = Math.min(Math.max(fromRow, 1) - 1, cached.size());
+            int to = Math.max(from, Math.min(toRow, cached.size()));
+            return cached.subList(from, to).stream().map(Object[]::clone).iterator();
+        }
+        boolean wholeSheet = fromRow <= 1 && toRow == Integer.MAX_VALUE;
+        return new StreamingRowIterator(file, sheetName, fromRow, toRow, wholeSheet ? key : null);
+    }
+
+    private static void store(CacheKey key, List<Object[]> rows) {
+        // Drop entries for older versions of the same sheet before caching the new one
+        cache.keySet().removeIf(k -> k.path().equals(key.path()) && k.sheetName().equals(key.sheetName()));
+        cache.put(key, rows);
+    }
+
+    private static File resolve(String filePath) throws FileNotFoundException {
+        File file = new File(filePath).getAbsoluteFile();
+        if (!file.isFile()) {
+            throw new FileNotFoundException("Excel file not found: " + file);
+        }
+        return file;
+    }
+
+    // Streams the data rows of one sheet into 'sink' and returns the column count taken from the header row.
+    // The sink may throw StopParsing to end the parse early.
+    private static int readSheet(File file, String sheetName, Consumer<Object[]> sink) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+
+            while (sheets.hasNext()) {
+                try (InputStream sheet = sheets.next()) {
+                    if (!sheetName.equals(sheets.getSheetName())) {
+                        continue;
+                    }
+                    RowCollector collector = new RowCollector(sink);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, collector, new DataFormatter(), false));
+                    try {
+                        parser.parse(new InputSource(sheet));
+                    } catch (StopParsing e) {
+                        return collector.columnCount;
+                    }
+
+                    if (collector.columnCount < 0) {
+                        throw new RuntimeException("Header row not found in sheet: " + sheetName);
+                    }
+                    return collector.columnCount;
+                }
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to read data from Excel file: " + file + ", Sheet: " + sheetName, e);
+        }
+        throw new RuntimeException("Sheet with name '" + sheetName + "' not found in file: " + file);
+    }
+
+    private record CacheKey(String path, String sheetName, long lastModified) {
+    }
+
+    private static class StopParsing extends RuntimeException {
+        StopParsing() {
+            super(null, null, false, false);
+        }
+    }
+
+    // Pulls rows from a daemon thread running the SAX parse. The bounded queue keeps the parser at most
+    // STREAM_BUFFER_ROWS rows ahead of the tests consuming them. The end of the rows is signalled by the 'finished'
+    // flag (plus an END marker when the queue has room), so a parser that cannot enqueue END never blocks the consumer.
+    // A consumer that stops early (a failed row, a cut-short run) simply drops the iterator: once it is garbage
+    // collected the Cleaner marks the feed abandoned, and the parser, which only ever waits POLL_MILLIS for room
+    // in the queue, sees the flag and ends the parse instead of blocking forever.
+    private static class StreamingRowIterator implements Iterator<Object[]> {
+
+        private static final Object[] END = new Object[0];
+        private static final long POLL_MILLIS = 100;
+        private static final Cleaner cleaner = Cleaner.create();
+
+        // Everything the parser thread shares with the consumer; it must not reference the iterator itself
+        private static class Feed {
+            final BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_ROWS);
+            volatile boolean finished;
+            volatile boolean abandoned;
+            // Set when put() ended the parse early; readSheet returns normally then, but the rows are incomplete
+            boolean stopped;
+            volatile RuntimeException failure;
+            // Copies of the rows for the cache while the pass covers the whole sheet and stays small enough
+            List<Object[]> copies;
+
+            void put(Object[] row) {
+                try {
+                    while (!queue.offer(row, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (abandoned) {
+                            stopped = true;
+                            throw new StopParsing();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stopped = true;
+                    throw new StopParsing();
+                }
+            }
+        }
+
+        private final Feed feed = new Feed();
+        private Object[] next;
+
+        StreamingRowIterator(File file, String sheetName, int fromRow, int toRow, CacheKey cacheKey) {
+            Feed feed = this.feed;
+            feed.copies = cacheKey == null ? null : new ArrayList<>();
+            Thread parser = new Thread(() -> {
+                int[] rowNumber = {0};
+                try {
+                    readSheet(file, sheetName, row -> {
+                        rowNumber[0]++;
+                        if (rowNumber[0] > toRow) {
+                            throw new StopParsing();
+                        }
+                        if (rowNumber[0] >= fromRow) {
+                            if (feed.copies != null) {
+                                feed.copies = feed.copies.size() < CACHED_STREAM_ROWS ? feed.copies : null;
+                            }
+                            if (feed.copies != null) {
+                                feed.copies.add(row.clone());
+                            }
+                            feed.put(row);
+                        }
+                    });
+                    if (feed.copies != null && !feed.stopped) {
+                        store(cacheKey, Collections.unmodifiableList(feed.copies));
+                    }
+                } catch (IOException e) {
+                    feed.failure = new UncheckedIOException(e);
+                } catch (StopParsing e) {
+                    // Interrupted, or the consumer went away
+                } catch (RuntimeException e) {
+                    feed.failure = e;
+                } finally {
+                    feed.finished = true;
+                    feed.queue.offer(END);
+                }
+            }, "excel-reader-" + file.getName());
+            parser.setDaemon(true);
+            cleaner.register(this, () -> feed.abandoned = true);
+            parser.start();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                try {
+                    next = feed.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while reading Excel rows", e);
+                }
+                if (next == null && feed.finished && feed.queue.isEmpty()) {
+                    next = END;
+                }
+            }
+            if (next == END) {
+                if (feed.failure != null) {
+                    throw feed.failure;
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    // Turns the SAX cell events of one sheet into Object[] rows sized by the header row.
+    private static class RowCollector implements SheetContentsHandler {
+
+        private final Consumer<Object[]> sink;
+        int columnCount = -1;
+
+        private final List<String> current = new ArrayList<>();
+        private int nextColumn;
+
+        RowCollector(Consumer<Object[]> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            current.clear();
+            nextColumn = 0;
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference == null ? nextColumn : new CellReference(cellReference).getCol();
+            nextColumn = column + 1;
+            while (current.size() <= column) {
+                current.add("");
+            }
+            current.set(column, formattedValue == null ? "" : formattedValue);
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (columnCount < 0) {
+                // Header row: columns run up to the last non-blank header cell (styled empty cells are ignored)
+                columnCount = 0;
+                for (int i = 0; i < current.size(); i++) {
+                    if (!current.get(i).isBlank()) {
+                        columnCount = i + 1;
+                    }
+                }
+                return;
+            }
+
+            Object[] row = new Object[columnCount];
+            boolean allBlank = true;
+            for (int i = 0; i < columnCount; i++) {
+                String value = i < current.size() ? current.get(i) : "";
+                row[i] = value;
+                allBlank &= value.isBlank();
+            }
+            if (!allBlank) {
+                sink.accept(row);
+            }
         }
-        return dataArray;
     }
-}
\ No newline at end of file
+}
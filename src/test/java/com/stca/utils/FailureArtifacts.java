@@ -0,0 +1,163 @@
+package com.stca.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Diagnostics for failed tests: screenshot, DOM snapshot, browser console and the network requests of the current
+// page (Resource Timing), plus the failure itself. Nothing is collected for passing tests. The browser is read on the
+// test thread, because it is released right after; compressing and writing the per-test zip happens on a background
+// thread, so the failing test does not wait for disk I/O.
+public class FailureArtifacts {
+
+    public static final String ENABLED_PROPERTY = "artifacts.enabled";
+    public static final String DIRECTORY_PROPERTY = "artifacts.dir";
+
+    private static final String NETWORK_SCRIPT = """
+            return performance.getEntriesByType('navigation').concat(performance.getEntriesByType('resource'))
+                .map(function (e) {
+                    return { name: e.name, type: e.initiatorType || e.entryType, startMillis: e.startTime,
+                             durationMillis: e.duration, transferBytes: e.transferSize || 0,
+                             status: e.responseStatus || 0 };
+                });
+            """;
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "failure-artifacts");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // One party for awaitWrites plus one per queued archive; the executor stays up for later suites in the same JVM
+    private static final Phaser pending = new Phaser(1);
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final AtomicInteger written = new AtomicInteger();
+
+    private FailureArtifacts() {
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    // Reads the failure state from 'driver' and queues the archive '<directory>/<n>-<test>.zip'. Data rows are told apart
+    // by the sequence number and the parameters in failure.json. 'sinceMillis' is the test's start time; console
+    // entries logged before it belong to earlier tests on the same pooled browser.
+    public static void capture(WebDriver driver, Path directory, String test, Object[] parameters, Throwable failure, long sinceMillis) {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("test", test);
+        info.put("parameters", parameters == null ? List.of() : Arrays.asList(parameters));
+        info.put("failure", failure == null ? null : stackTrace(failure));
+
+        try {
+            info.put("url", driver.getCurrentUrl());
+            info.put("title", driver.getTitle());
+        } catch (RuntimeException e) {
+            info.put("urlError", e.getMessage());
+        }
+        try {
+            entries.put("screenshot.png", ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+        } catch (RuntimeException e) {
+            info.put("screenshotError", e.getMessage());
+        }
+        try {
+            entries.put("dom.html", driver.getPageSource().getBytes(StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            info.put("domError", e.getMessage());
+        }
+        try {
+            List<Map<String, Object>> console = new ArrayList<>();
+            for (LogEntry entry : driver.manage().logs().get(LogType.BROWSER)) {
+                if (entry.getTimestamp() >= sinceMillis) {
+                    console.add(entry.toJson());
+                }
+            }
+            entries.put("console.json", json(console));
+        } catch (RuntimeException e) {
+            info.put("consoleError", e.getMessage());
+        }
+        try {
+            entries.put("network.json", json(((JavascriptExecutor) driver).executeScript(NETWORK_SCRIPT)));
+        } catch (RuntimeException e) {
+            info.put("networkError", e.getMessage());
+        }
+        entries.put("failure.json", json(info));
+
+        Path archive = directory.resolve(sequence.incrementAndGet() + "-" + test.replaceAll("[^A-Za-z0-9._-]", "_") + ".zip");
+        pending.register();
+        writer.execute(() -> {
+            try {
+                write(archive, entries);
+            } finally {
+                pending.arriveAndDeregister();
+            }
+        });
+    }
+
+    // Waits for the archives queued so far to be written; called when a suite finishes.
+    public static void awaitWrites(Path directory) {
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arrive(), 60, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Failure artifacts still being written after 60 seconds.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int count = written.getAndSet(0);
+        if (count > 0) {
+            System.out.println("Wrote " + count + " failure archive(s) to " + directory);
+        }
+    }
+
+    private static void write(Path archive, Map<String, byte[]> entries) {
+        try {
+            Files.createDirectories(archive.getParent());
+            try (OutputStream file = Files.newOutputStream(archive);
+                 ZipOutputStream zip = new ZipOutputStream(file)) {
+                for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                    zip.putNextEntry(new ZipEntry(entry.getKey()));
+                    zip.write(entry.getValue());
+                    zip.closeEntry();
+                }
+            }
+            written.incrementAndGet();
+        } catch (IOException e) {
+            System.err.println("Could not write failure artifacts " + archive + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] json(Object value) {
+        return new Json().toJson(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String stackTrace(Throwable failure) {
+        StringWriter trace = new StringWriter();
+        failure.printStackTrace(new PrintWriter(trace));
+        return trace.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+
+// Captures FailureArtifacts for every failed test method into <reports>/failures (or -Dartifacts.dir=...).
+// Hooks afterInvocation rather than ITestListener.onTestFailure: TestNG reports the failure after @AfterMethod,
+// when BaseTest has already reset the browser and returned it to the pool.
+public class FailureArtifactsListener implements IInvokedMethodListener, ISuiteListener {
+
+    private volatile Path directory;
+
+    @Override
+    public void onStart(ISuite suite) {
+        String configured = System.getProperty(FailureArtifacts.DIRECTORY_PROPERTY);
+        directory = configured != null ? Path.of(configured) : StepTimingListener.reportDirectory(suite).resolve("failures");
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE || !FailureArtifacts.enabled()) {
+            return;
+        }
+        WebDriver driver = DriverPool.current();
+        if (driver == null) {
+            return;
+        }
+        ITestNGMethod testMethod = method.getTestMethod();
+        String test = testMethod.getRealClass().getSimpleName() + "." + testMethod.getMethodName();
+        FailureArtifacts.capture(driver, directory, test, testResult.getParameters(), testResult.getThrowable(), testResult.getStartMillis());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        FailureArtifacts.awaitWrites(directory);
+    }
+}
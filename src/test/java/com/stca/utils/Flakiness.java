@@ -0,0 +1,148 @@
+package com.stca.utils;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Outcome history per test method and per data row, and the flakiness score computed from it. Each run appends one
+// letter per test: P passed first time, R passed on a retry, F failed. The score is the share of runs that were
+// retried into a pass or flipped between pass and fail since the previous run; a test that always fails is broken,
+// not flaky, and scores 0. Tests scoring at least -Dretry.quarantineScore (default 0.3) over at least
+// -Dretry.minRuns (default 5) runs are quarantined. Kept in test-flakiness.properties (or -Dretry.history=...) at the
+// project root, which is git-ignored and outlives mvn clean; cache it between CI runs.
+public class Flakiness {
+
+    public static final String HISTORY_PROPERTY = "retry.history";
+    public static final String QUARANTINE_SCORE_PROPERTY = "retry.quarantineScore";
+    public static final String MIN_RUNS_PROPERTY = "retry.minRuns";
+    public static final String RECORD_PROPERTY = "retry.record";
+    public static final String OUTCOMES_PROPERTY = "retry.outcomes";
+
+    private static final String DEFAULT_HISTORY = "test-flakiness.properties";
+    private static final int KEPT_RUNS = 30;
+
+    private final Map<String, String> history = new ConcurrentHashMap<>();
+    private final Map<String, Character> current = new ConcurrentHashMap<>();
+
+    public static Path historyFile() {
+        return Path.of(System.getProperty(HISTORY_PROPERTY, DEFAULT_HISTORY));
+    }
+
+    public static Flakiness load() {
+        Flakiness flakiness = new Flakiness();
+        Path file = historyFile();
+        if (!Files.isRegularFile(file)) {
+            return flakiness;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Could not read test flakiness history from " + file + ": " + e.getMessage());
+            return flakiness;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            flakiness.history.put(key, properties.getProperty(key).trim());
+        }
+        return flakiness;
+    }
+
+    // "Class.method" for plain tests, "Class.method[hash]" for a data row, where the hash is taken from the row's
+    // values so the same row gets the same key in every run.
+    public static String key(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        String test = method.getRealClass().getName() + "." + method.getMethodName();
+        Object[] parameters = result.getParameters();
+        if (parameters == null || parameters.length == 0) {
+            return test;
+        }
+        return test + "[" + Integer.toHexString(Arrays.deepHashCode(parameters)) + "]";
+    }
+
+    public void record(String key, char outcome) {
+        current.put(key, outcome);
+    }
+
+    public double score(String key) {
+        return scoreOf(history.getOrDefault(key, ""));
+    }
+
+    public boolean quarantined(String key) {
+        String outcomes = history.getOrDefault(key, "");
+        return outcomes.length() >= Integer.getInteger(MIN_RUNS_PROPERTY, 5)
+                && scoreOf(outcomes) >= Double.parseDouble(System.getProperty(QUARANTINE_SCORE_PROPERTY, "0.3"));
+    }
+
+    // Writes only this run's outcomes to 'file', e.g. for ShardLauncher to merge into the history afterwards.
+    public void saveOutcomes(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Outcomes of one run: P passed, R passed on retry, F failed (written by RetryListener)");
+        new TreeMap<>(current).forEach((key, outcome) -> lines.add(key + "=" + outcome));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.ISO_8859_1);
+    }
+
+    // Appends this run's outcomes, writes the history back and prints the flakiest tests.
+    public void save() throws IOException {
+        Map<String, String> merged = new TreeMap<>(history);
+        current.forEach((key, outcome) -> {
+            String outcomes = merged.getOrDefault(key, "") + outcome;
+            merged.put(key, outcomes.substring(Math.max(0, outcomes.length() - KEPT_RUNS)));
+        });
+        if (merged.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add("# Outcomes per run, oldest first: P passed, R passed on retry, F failed (written by RetryListener)");
+        merged.forEach((key, outcomes) -> lines.add(key + "=" + outcomes));
+        Path file = historyFile();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.ISO_8859_1);
+
+        List<Map.Entry<String, String>> flaky = new ArrayList<>();
+        for (Map.Entry<String, String> entry : merged.entrySet()) {
+            if (scoreOf(entry.getValue()) > 0) {
+                flaky.add(entry);
+            }
+        }
+        flaky.sort((a, b) -> Double.compare(scoreOf(b.getValue()), scoreOf(a.getValue())));
+        if (!flaky.isEmpty()) {
+            System.out.println("Flakiest tests (score, recent outcomes):");
+            for (Map.Entry<String, String> entry : flaky.subList(0, Math.min(10, flaky.size()))) {
+                System.out.println(String.format(Locale.ROOT, "  %.2f %s %s", scoreOf(entry.getValue()), entry.getValue(), entry.getKey()));
+            }
+        }
+    }
+
+    private static double scoreOf(String outcomes) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        int unstable = 0;
+        for (int i = 0; i < outcomes.length(); i++) {
+            char outcome = outcomes.charAt(i);
+            boolean flipped = i > 0 && (outcome == 'F') != (outcomes.charAt(i - 1) == 'F');
+            if (outcome == 'R' || flipped) {
+                unstable++;
+            }
+        }
+        return (double) unstable / outcomes.length();
+    }
+}
@@ -0,0 +1,149 @@
+package com.stca.utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latency samples and error counts per load-test step ("checkout.finish", "filter.sort", ...) and per scenario,
+// reported as throughput and exact p50/p95/p99 over the measured window.
+public class LoadStats {
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public void success(String name, long nanos) {
+        series.computeIfAbsent(name, k -> new Series()).add(nanos);
+    }
+
+    public void error(String name) {
+        series.computeIfAbsent(name, k -> new Series()).error();
+    }
+
+    public long count(String name) {
+        Series s = series.get(name);
+        return s == null ? 0 : s.snapshot().length;
+    }
+
+    public long errors(String name) {
+        Series s = series.get(name);
+        return s == null ? 0 : s.errorCount();
+    }
+
+    private double elapsedSeconds() {
+        long end = endNanos == 0 ? System.nanoTime() : endNanos;
+        return Math.max(1e-9, (end - startNanos) / 1e9);
+    }
+
+    private List<Map<String, Object>> rows() {
+        double seconds = elapsedSeconds();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, Series> entry : new TreeMap<>(series).entrySet()) {
+            long[] samples = entry.getValue().snapshot();
+            Arrays.sort(samples);
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", entry.getKey());
+            row.put("count", samples.length);
+            row.put("errors", entry.getValue().errorCount());
+            row.put("throughputPerSecond", round(samples.length / seconds));
+            row.put("p50Millis", percentile(samples, 0.50));
+            row.put("p95Millis", percentile(samples, 0.95));
+            row.put("p99Millis", percentile(samples, 0.99));
+            row.put("maxMillis", samples.length == 0 ? 0 : millis(samples[samples.length - 1]));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public void print() {
+        System.out.println(String.format(Locale.ROOT, "Load results over %.1f s (name: count, errors, per second, p50/p95/p99/max ms):", elapsedSeconds()));
+        for (Map<String, Object> row : rows()) {
+            System.out.println("  " + row.get("name") + ": " + row.get("count") + ", " + row.get("errors") + ", "
+                    + row.get("throughputPerSecond") + ", " + row.get("p50Millis") + "/" + row.get("p95Millis") + "/"
+                    + row.get("p99Millis") + "/" + row.get("maxMillis"));
+        }
+    }
+
+    // Writes load-report.json (with the run settings) and load-report.csv into 'directory'.
+    public void writeReport(Path directory, Map<String, Object> settings) throws IOException {
+        Files.createDirectories(directory);
+        List<Map<String, Object>> rows = rows();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("elapsedSeconds", round(elapsedSeconds()));
+        report.put("steps", rows);
+        Files.writeString(directory.resolve("load-report.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+        try (Writer out = Files.newBufferedWriter(directory.resolve("load-report.csv"), StandardCharsets.UTF_8);
+             PrintWriter csv = new PrintWriter(out)) {
+            csv.println("name,count,errors,throughput_per_s,p50_ms,p95_ms,p99_ms,max_ms");
+            for (Map<String, Object> row : rows) {
+                csv.println(row.get("name") + "," + row.get("count") + "," + row.get("errors") + "," + row.get("throughputPerSecond")
+                        + "," + row.get("p50Millis") + "," + row.get("p95Millis") + "," + row.get("p99Millis") + "," + row.get("maxMillis"));
+            }
+        }
+        System.out.println("Load report written to " + directory.resolve("load-report.json"));
+    }
+
+    // Nearest-rank percentile of sorted samples.
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(0, rank - 1)]);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static class Series {
+        private long[] samples = new long[64];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized long errorCount() {
+            return errors;
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, size);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.stca.utils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Embedded stand-in for the SauceDemo login/inventory/cart/checkout flow, served from the classpath resources
+// under saucedemo/. Every page route returns the same shell and app.js renders the page for the current path,
+// keeping the ids, classes, messages and cookie/localStorage state the tests rely on.
+public class LocalSauceDemo {
+
+    private static final String RESOURCE_ROOT = "saucedemo/";
+
+    private static final List<String> PAGE_ROUTES = List.of("/", "/index.html", "/inventory.html", "/cart.html",
+            "/checkout-step-one.html", "/checkout-step-two.html", "/checkout-complete.html");
+    private static final Map<String, String> STATIC_FILES = Map.of(
+            "/static/app.js", "application/javascript; charset=utf-8",
+            "/static/app.css", "text/css; charset=utf-8");
+
+    private final Map<String, byte[]> content = new HashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong serveNanos = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Starts serving on the loopback interface; port 0 picks a free port.
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        content.put("/index.html", load("index.html"));
+        for (String path : STATIC_FILES.keySet()) {
+            content.put(path, load(path.substring("/static/".length())));
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-saucedemo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        System.out.println("Local SauceDemo served " + requests.get() + " requests in " + serveNanos.get() / 1_000_000 + " ms total.");
+    }
+
+    public synchronized String baseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Local SauceDemo is not running");
+        }
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            String contentType;
+            if (PAGE_ROUTES.contains(path)) {
+                body = content.get("/index.html");
+                contentType = "text/html; charset=utf-8";
+                // Pages read their state from cookies and localStorage, so they must never be served from cache
+                exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            } else if (STATIC_FILES.containsKey(path)) {
+                body = content.get(path);
+                contentType = STATIC_FILES.get(path);
+                exchange.getResponseHeaders().set("Cache-Control", "max-age=3600");
+            } else {
+                body = ("Not found: " + path).getBytes();
+                contentType = "text/plain; charset=utf-8";
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                exchange.sendResponseHeaders(404, body.length);
+                exchange.getResponseBody().write(body);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            requests.incrementAndGet();
+            serveNanos.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private static byte[] load(String name) {
+        try (InputStream in = LocalSauceDemo.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (in == null) {
+                throw new RuntimeException("Local SauceDemo resource not found on the classpath: " + RESOURCE_ROOT + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.stca.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// With -Daut.local=true, serves the bundled SauceDemo replica for the duration of the suite and points
+// Aut.baseUrl() at it, so the suite runs without internet access.
+public class LocalSauceDemoListener implements ISuiteListener {
+
+    public static final String LOCAL_PROPERTY = "aut.local";
+    public static final String PORT_PROPERTY = "aut.local.port";
+
+    private final LocalSauceDemo server = new LocalSauceDemo();
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Boolean.getBoolean(LOCAL_PROPERTY)) {
+            return;
+        }
+        try {
+            server.start(Integer.getInteger(PORT_PROPERTY, 0));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the local SauceDemo server", e);
+        }
+        System.setProperty(Aut.BASE_URL_PROPERTY, server.baseUrl());
+        System.out.println("Local SauceDemo running at " + server.baseUrl());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (Boolean.getBoolean(LOCAL_PROPERTY)) {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.stca.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Logs a user in through the UI once, remembers the session cookies and injects them into later drivers,
+// so tests that only need to be logged in start directly on the page they exercise.
+public class LoginSession {
+
+    private static final Map<String, Set<Cookie>> sessions = new ConcurrentHashMap<>();
+
+    private LoginSession() {
+    }
+
+    // Opens 'path' (e.g. "/inventory.html") as the given user, reusing a cached session when there is one.
+    public static void open(WebDriver driver, String username, String password, String path) {
+        Set<Cookie> cookies = sessions.get(username);
+        if (cookies != null) {
+            // Cookies can only be added for the domain of the current page
+            driver.get(Aut.baseUrl());
+            for (Cookie cookie : cookies) {
+                driver.manage().addCookie(cookie);
+            }
+            driver.get(Aut.url(path));
+            if (driver.getCurrentUrl().contains(path)) {
+                return;
+            }
+            // The app rejected the session (expired or logged out elsewhere); fall back to a real login
+            System.out.println("Cached session for " + username + " was rejected, logging in again.");
+            sessions.remove(username);
+            driver.manage().deleteAllCookies();
+        }
+
+        loginThroughUi(driver, username, password);
+        sessions.put(username, driver.manage().getCookies());
+        if (!driver.getCurrentUrl().contains(path)) {
+            driver.get(Aut.url(path));
+        }
+    }
+
+    private static void loginThroughUi(WebDriver driver, String username, String password) {
+        driver.get(Aut.baseUrl());
+        driver.findElement(By.id("user-name")).sendKeys(username);
+        driver.findElement(By.id("password")).sendKeys(password);
+        driver.findElement(By.id("login-button")).click();
+        Sync.urlContains(driver, "/inventory.html");
+    }
+}
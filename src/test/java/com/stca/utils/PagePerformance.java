@@ -0,0 +1,283 @@
+package com.stca.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Captures the browser's own performance data after navigations and key actions: Navigation Timing, the
+// Resource Timing and Long Task entries since the previous capture, and Chrome's DevTools performance metrics.
+// Each capture is checked against the budgets in perf-budgets.properties. Violations are printed; only
+// -Dperf.budgets=enforce (runs against a controlled environment such as -Daut.local=true) fails the test on them.
+public class PagePerformance {
+
+    public static final String CAPTURE_PROPERTY = "perf.capture";
+    // warn (default) prints a budget violation, enforce fails the test on it, off skips the check
+    public static final String BUDGETS_PROPERTY = "perf.budgets";
+    public static final String BUDGETS_FILE_PROPERTY = "perf.budgets.file";
+
+    private static final String DEFAULT_BUDGETS = "perf-budgets.properties";
+
+    // Collects long tasks for the current document. Also registered through DevTools to run before any page
+    // script, so tasks during the initial load are seen too.
+    private static final String INSTALL_SCRIPT = """
+            if (!window.__stcaPerf) {
+                var perf = window.__stcaPerf = { longTasks: [], lastCapture: 0 };
+                try {
+                    new PerformanceObserver(function (list) {
+                        list.getEntries().forEach(function (e) { perf.longTasks.push([e.startTime, e.duration]); });
+                    }).observe({ type: 'longtask', buffered: true });
+                } catch (e) {
+                    // Long Tasks API not supported
+                }
+            }
+            """;
+
+    // Returns null until the document has loaded. The navigation entry is only reported on the first capture
+    // of a document; later captures cover the resources and long tasks since the previous one. A navigation
+    // capture (arguments[0]) of a document that was already captured answers {repeat: true} and reads nothing.
+    private static final String CAPTURE_SCRIPT = INSTALL_SCRIPT + """
+            if (document.readyState !== 'complete') {
+                return null;
+            }
+            var perf = window.__stcaPerf, since = perf.lastCapture;
+            if (arguments[0]) {
+                if (perf.navigationCaptured) {
+                    return { repeat: true };
+                }
+                perf.navigationCaptured = true;
+            }
+            perf.lastCapture = performance.now();
+            var result = { page: location.pathname, metrics: {} }, m = result.metrics;
+            var nav = performance.getEntriesByType('navigation')[0];
+            if (since === 0 && nav) {
+                m.ttfbMillis = nav.responseStart - nav.startTime;
+                m.domContentLoadedMillis = nav.domContentLoadedEventEnd - nav.startTime;
+                m.loadMillis = nav.loadEventEnd - nav.startTime;
+                m.documentBytes = nav.transferSize;
+            }
+            var resources = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= since; });
+            m.resourceCount = resources.length;
+            m.resourceBytes = resources.reduce(function (sum, r) { return sum + (r.transferSize || 0); }, 0);
+            m.slowestResourceMillis = resources.reduce(function (max, r) { return Math.max(max, r.duration); }, 0);
+            var tasks = perf.longTasks.filter(function (t) { return t[0] + t[1] >= since; });
+            m.longTaskCount = tasks.length;
+            m.longTaskMillis = tasks.reduce(function (sum, t) { return sum + t[1]; }, 0);
+            return result;
+            """;
+
+    private static final Map<String, Map<String, Double>> budgets = loadBudgets();
+    private static final Set<WebDriver> cdpReady = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private static final Map<WebDriver, Map<String, Double>> lastCdpMetrics = new ConcurrentHashMap<>();
+    private static final List<Map<String, Object>> samples = Collections.synchronizedList(new ArrayList<>());
+
+    private PagePerformance() {
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty(CAPTURE_PROPERTY, "true"));
+    }
+
+    // Captures and checks the page the driver has just navigated to, labelled with its path. Waiting for the same
+    // document again (a page object re-checking the page it is on) costs one short script and records nothing.
+    public static void navigation(WebDriver driver) {
+        capture(driver, null);
+    }
+
+    // Captures and checks an in-page action, labelled "<path>#<action>", e.g. "/inventory.html#sortBy".
+    public static void action(WebDriver driver, String action) {
+        capture(driver, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void capture(WebDriver driver, String action) {
+        if (!enabled()) {
+            return;
+        }
+        prepareCdp(driver);
+        Map<String, Object> result = Sync.until(driver, "pageLoad",
+                d -> (Map<String, Object>) ((JavascriptExecutor) d).executeScript(CAPTURE_SCRIPT, action == null));
+        if (Boolean.TRUE.equals(result.get("repeat"))) {
+            return;
+        }
+        String label = action == null ? (String) result.get("page") : result.get("page") + "#" + action;
+
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        ((Map<String, Object>) result.get("metrics")).forEach((name, value) -> metrics.put(name, ((Number) value).doubleValue()));
+        metrics.putAll(cdpMetrics(driver));
+
+        List<String> violations = violations(label, metrics);
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("test", StepTimings.currentTest());
+        sample.put("label", label);
+        sample.put("metrics", metrics);
+        sample.put("violations", violations);
+        samples.add(sample);
+
+        if (violations.isEmpty()) {
+            return;
+        }
+        String message = "Performance budget exceeded on " + label + ": " + String.join("; ", violations);
+        if ("enforce".equals(mode())) {
+            throw new AssertionError(message);
+        }
+        System.out.println("WARNING: " + message);
+    }
+
+    private static String mode() {
+        return System.getProperty(BUDGETS_PROPERTY, "warn").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> violations(String label, Map<String, Double> metrics) {
+        List<String> violations = new ArrayList<>();
+        if ("off".equals(mode())) {
+            return violations;
+        }
+        // Budgets for "*" apply everywhere; an entry for the page or action overrides the same metric
+        Map<String, Double> limits = new LinkedHashMap<>(budgets.getOrDefault("*", Map.of()));
+        limits.putAll(budgets.getOrDefault(label, Map.of()));
+        for (Map.Entry<String, Double> limit : limits.entrySet()) {
+            Double value = metrics.get(limit.getKey());
+            if (value != null && value > limit.getValue()) {
+                violations.add(limit.getKey() + " " + Math.round(value) + " > " + Math.round(limit.getValue()));
+            }
+        }
+        return violations;
+    }
+
+    // Drops the per-session DevTools state, e.g. when BrowserContexts moves the driver to another tab or the pool
+    // quits the session.
+    static void forget(WebDriver driver) {
+        cdpReady.remove(driver);
+        lastCdpMetrics.remove(driver);
+    }
+
+    // Enables the DevTools performance domain and the long-task observer once per browser session.
+    private static void prepareCdp(WebDriver driver) {
+        if (!(driver instanceof HasCdp cdp) || cdpReady.contains(driver)) {
+            return;
+        }
+        try {
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTALL_SCRIPT));
+        } catch (RuntimeException e) {
+            System.err.println("DevTools performance metrics unavailable: " + e.getMessage());
+        }
+        cdpReady.add(driver);
+    }
+
+    // Heap and DOM size as absolute values; script and layout time as the increase since the previous capture
+    // (clamped at zero, as the counters restart when navigation moves the page to a new renderer).
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> cdpMetrics(WebDriver driver) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        if (!(driver instanceof HasCdp cdp)) {
+            return metrics;
+        }
+        Map<String, Double> raw = new LinkedHashMap<>();
+        try {
+            for (Map<String, Object> metric : (List<Map<String, Object>>) cdp.executeCdpCommand("Performance.getMetrics", Map.of()).get("metrics")) {
+                raw.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+            }
+        } catch (RuntimeException e) {
+            return metrics;
+        }
+        Map<String, Double> previous = lastCdpMetrics.getOrDefault(driver, Map.of());
+        lastCdpMetrics.put(driver, raw);
+        if (raw.containsKey("JSHeapUsedSize")) {
+            metrics.put("jsHeapUsedMB", raw.get("JSHeapUsedSize") / (1024 * 1024));
+        }
+        if (raw.containsKey("Nodes")) {
+            metrics.put("domNodes", raw.get("Nodes"));
+        }
+        if (raw.containsKey("ScriptDuration")) {
+            metrics.put("scriptMillis", Math.max(0, raw.get("ScriptDuration") - previous.getOrDefault("ScriptDuration", 0.0)) * 1000);
+        }
+        if (raw.containsKey("LayoutDuration")) {
+            metrics.put("layoutMillis", Math.max(0, raw.get("LayoutDuration") - previous.getOrDefault("LayoutDuration", 0.0)) * 1000);
+        }
+        return metrics;
+    }
+
+    // Budget keys are "<page or action>.<metric>", e.g. "/inventory.html.loadMillis" or "*.longTaskMillis".
+    private static Map<String, Map<String, Double>> loadBudgets() {
+        Properties properties = new Properties();
+        String file = System.getProperty(BUDGETS_FILE_PROPERTY);
+        try (InputStream in = file != null ? Files.newInputStream(Path.of(file))
+                : PagePerformance.class.getClassLoader().getResourceAsStream(DEFAULT_BUDGETS)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read performance budgets from " + (file != null ? file : DEFAULT_BUDGETS), e);
+        }
+        Map<String, Map<String, Double>> parsed = new ConcurrentHashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            if (dot <= 0) {
+                throw new IllegalArgumentException("Performance budget key must look like <page>.<metric>: " + key);
+            }
+            parsed.computeIfAbsent(key.substring(0, dot), k -> new LinkedHashMap<>())
+                    .put(key.substring(dot + 1), Double.parseDouble(properties.getProperty(key).trim()));
+        }
+        return parsed;
+    }
+
+    // Writes every capture to page-performance.json and page-performance.csv in 'directory'.
+    @SuppressWarnings("unchecked")
+    public static void writeReport(Path directory, String suiteName) throws IOException {
+        List<Map<String, Object>> snapshot;
+        synchronized (samples) {
+            snapshot = new ArrayList<>(samples);
+        }
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suiteName);
+        report.put("budgets", budgets);
+        report.put("samples", snapshot);
+        Files.writeString(directory.resolve("page-performance.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+
+        Set<String> names = new TreeSet<>();
+        for (Map<String, Object> sample : snapshot) {
+            names.addAll(((Map<String, Double>) sample.get("metrics")).keySet());
+        }
+        try (Writer out = Files.newBufferedWriter(directory.resolve("page-performance.csv"), StandardCharsets.UTF_8);
+             PrintWriter csv = new PrintWriter(out)) {
+            csv.println("test,label," + String.join(",", names) + ",violations");
+            for (Map<String, Object> sample : snapshot) {
+                Map<String, Double> metrics = (Map<String, Double>) sample.get("metrics");
+                StringBuilder line = new StringBuilder(sample.get("test") + "," + sample.get("label"));
+                for (String name : names) {
+                    Double value = metrics.get(name);
+                    line.append(',').append(value == null ? "" : String.format(Locale.ROOT, "%.1f", value));
+                }
+                line.append(",\"").append(String.join("; ", (List<String>) sample.get("violations"))).append('"');
+                csv.println(line);
+            }
+        }
+        long failing = snapshot.stream().filter(s -> !((List<?>) s.get("violations")).isEmpty()).count();
+        System.out.println("Page performance: " + snapshot.size() + " captures, " + failing + " over budget. Written to "
+                + directory.resolve("page-performance.json"));
+    }
+}
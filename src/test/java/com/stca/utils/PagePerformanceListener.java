@@ -0,0 +1,19 @@
+package com.stca.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+
+// Writes the page-performance captures next to the Surefire results when the suite finishes.
+public class PagePerformanceListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            PagePerformance.writeReport(StepTimingListener.reportDirectory(suite), suite.getName());
+        } catch (IOException e) {
+            System.err.println("Could not write page performance report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.stca.utils;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Retries a failed test method or data row up to -Dretry.max times (default 1) instead of rerunning the suite.
+// Attempts are counted per Flakiness key, so every data row has its own budget. BaseTest retires the browser of
+// a failed attempt, so the retry runs on a different pooled session. Attached to every test by RetryListener.
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    public static final String MAX_PROPERTY = "retry.max";
+
+    private static final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean retry(ITestResult result) {
+        String key = Flakiness.key(result);
+        int done = attempts.getOrDefault(key, 0);
+        if (done >= Integer.getInteger(MAX_PROPERTY, 1)) {
+            return false;
+        }
+        attempts.put(key, done + 1);
+        Throwable failure = result.getThrowable();
+        System.out.println("Retrying " + key + " (attempt " + (done + 2) + ") after: " + (failure == null ? "failure" : failure.getMessage()));
+        return true;
+    }
+
+    // Number of retries used so far by the test or row behind 'result'; cleared once its outcome is recorded.
+    static int retries(ITestResult result) {
+        return attempts.getOrDefault(Flakiness.key(result), 0);
+    }
+
+    static void clear(ITestResult result) {
+        attempts.remove(Flakiness.key(result));
+    }
+}
@@ -0,0 +1,92 @@
+package com.stca.utils;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.annotations.ITestAnnotation;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.Locale;
+
+// Attaches RetryAnalyzer to every test, records each test's final outcome in the Flakiness history, and quarantines
+// chronic flaky tests: they still run, but a failure is reported as a skip right away (without a retry) so it does
+// not fail the build.
+//   -Dretry.max=0             disables retries
+//   -Dretry.quarantine=false  reports quarantined failures as failures again
+//   -Dretry.record=false      leaves the history file alone (shards: ShardLauncher merges their -Dretry.outcomes files)
+public class RetryListener implements IAnnotationTransformer, IInvokedMethodListener, ITestListener, ISuiteListener {
+
+    public static final String QUARANTINE_PROPERTY = "retry.quarantine";
+
+    private final Flakiness flakiness = Flakiness.load();
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        annotation.setRetryAnalyzer(RetryAnalyzer.class);
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE || testResult.wasRetried()
+                || !Boolean.parseBoolean(System.getProperty(QUARANTINE_PROPERTY, "true"))) {
+            return;
+        }
+        String key = Flakiness.key(testResult);
+        if (flakiness.quarantined(key)) {
+            Throwable failure = testResult.getThrowable();
+            testResult.setStatus(ITestResult.SKIP);
+            testResult.setThrowable(new SkipException(String.format(Locale.ROOT, "Quarantined (flakiness %.2f): %s",
+                    flakiness.score(key), failure == null ? "failed" : failure.getMessage()), failure));
+        }
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        flakiness.record(Flakiness.key(result), RetryAnalyzer.retries(result) > 0 ? 'R' : 'P');
+        RetryAnalyzer.clear(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        flakiness.record(Flakiness.key(result), 'F');
+        RetryAnalyzer.clear(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        // Retried attempts are reported as skips; only a quarantined final failure counts as an outcome
+        if (!result.wasRetried() && result.getThrowable() instanceof SkipException skip && skip.getMessage().startsWith("Quarantined")) {
+            flakiness.record(Flakiness.key(result), 'F');
+            RetryAnalyzer.clear(result);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        String outcomes = System.getProperty(Flakiness.OUTCOMES_PROPERTY, "").trim();
+        if (!outcomes.isEmpty()) {
+            try {
+                flakiness.saveOutcomes(Path.of(outcomes));
+            } catch (IOException e) {
+                System.err.println("Could not write test outcomes to " + outcomes + ": " + e.getMessage());
+            }
+        }
+        if (!Boolean.parseBoolean(System.getProperty(Flakiness.RECORD_PROPERTY, "true"))) {
+            return;
+        }
+        try {
+            flakiness.save();
+        } catch (IOException e) {
+            System.err.println("Could not write test flakiness history to " + Flakiness.historyFile() + ": " + e.getMessage());
+        }
+    }
+}
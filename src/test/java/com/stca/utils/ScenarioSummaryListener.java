@@ -0,0 +1,15 @@
+package com.stca.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+// Prints how many flow steps the suite asked for and how many actually ran after prefix sharing, and how often
+// checkpoints were restored instead of rebuilt.
+public class ScenarioSummaryListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Scenarios.printSummary();
+        Checkpoints.printSummary();
+    }
+}
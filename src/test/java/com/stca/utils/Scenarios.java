@@ -0,0 +1,128 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Prefix-sharing execution of UI flows. A flow is a sequence of named steps (log in, add an item, open the cart, ...),
+// and every flow reached in this JVM joins one tree in which flows with a common prefix share the nodes of that
+// prefix. The first flow through a node executes its step and snapshots the browser there (BrowserState); later
+// flows restore the deepest snapshot on their path in one step and fork from it, executing only the steps after
+// it. Executed steps therefore grow with the number of distinct steps instead of with flows x prefix length.
+// Each node has a lock, as Checkpoints has per name: flows running in parallel that all miss a snapshot wait for
+// the one flow executing that step and then restore its snapshot, instead of all executing the shared prefix.
+// A step's name identifies what it does, including its arguments, and a step must leave everything it changed in
+// cookies, storage or the URL ("fill and submit the form", not "fill the form"): nothing else survives a snapshot.
+//   -Dscenarios.share=false  executes every step of every flow
+public class Scenarios {
+
+    public static final String SHARE_PROPERTY = "scenarios.share";
+
+    public record Step(String name, Consumer<WebDriver> action) {
+    }
+
+    private static class Node {
+        final Map<String, Node> children = new ConcurrentHashMap<>();
+        final ReentrantLock lock = new ReentrantLock();
+        volatile BrowserState state;
+    }
+
+    // One tree per application base URL, since snapshots only restore on the origin they were taken from
+    private static final Map<String, Node> roots = new ConcurrentHashMap<>();
+    private static final AtomicLong requested = new AtomicLong();
+    private static final AtomicLong executed = new AtomicLong();
+    private static final AtomicLong restored = new AtomicLong();
+
+    private Scenarios() {
+    }
+
+    public static Step step(String name, Consumer<WebDriver> action) {
+        return new Step(name, action);
+    }
+
+    public static void reach(WebDriver driver, Step... steps) {
+        reach(driver, List.of(steps));
+    }
+
+    // Brings 'driver' to the state after the last of 'steps', restoring the longest prefix already run by another flow.
+    public static void reach(WebDriver driver, List<Step> steps) {
+        requested.addAndGet(steps.size());
+        boolean share = Boolean.parseBoolean(System.getProperty(SHARE_PROPERTY, "true"));
+        if (!share) {
+            for (Step step : steps) {
+                step.action().accept(driver);
+                executed.incrementAndGet();
+            }
+            return;
+        }
+        List<Node> path = new ArrayList<>();
+        Node parent = roots.computeIfAbsent(Aut.baseUrl(), url -> new Node());
+        for (Step step : steps) {
+            parent = parent.children.computeIfAbsent(step.name(), name -> new Node());
+            path.add(parent);
+        }
+
+        int next = restoreDeepest(driver, steps, path, false);
+        while (next < steps.size()) {
+            Node node = path.get(next);
+            boolean ran = false;
+            node.lock.lock();
+            try {
+                if (node.state == null) {
+                    steps.get(next).action().accept(driver);
+                    executed.incrementAndGet();
+                    node.state = BrowserState.capture(driver);
+                    ran = true;
+                }
+            } finally {
+                node.lock.unlock();
+            }
+            // Otherwise another flow ran the step while this one waited: continue from the deepest snapshot now
+            next = ran ? next + 1 : restoreDeepest(driver, steps, path, true);
+        }
+    }
+
+    // Restores the deepest snapshot on 'path' and returns the index of the first step still to run. Rejected
+    // snapshots are forgotten along the way; when nothing could be restored and the browser may hold state from
+    // this flow or a rejected snapshot, it is cleared so the flow starts over from its first step.
+    private static int restoreDeepest(WebDriver driver, List<Step> steps, List<Node> path, boolean midway) {
+        boolean dirty = midway;
+        for (int i = path.size() - 1; i >= 0; i--) {
+            BrowserState state = path.get(i).state;
+            if (state == null) {
+                continue;
+            }
+            if (state.restore(driver)) {
+                restored.incrementAndGet();
+                return i + 1;
+            }
+            // The application rejected the snapshot (its session expired): forget it and everything forked from it
+            System.out.println("Snapshot after step '" + steps.get(i).name() + "' was rejected, running the step again.");
+            forget(path.get(i));
+            dirty = true;
+        }
+        if (dirty) {
+            BrowserState.clear(driver);
+        }
+        return 0;
+    }
+
+    public static void printSummary() {
+        if (requested.get() == 0) {
+            return;
+        }
+        System.out.println("Scenario steps: " + requested.get() + " requested, " + executed.get() + " executed, "
+                + restored.get() + " snapshot restores.");
+    }
+
+    private static void forget(Node node) {
+        node.state = null;
+        node.children.values().forEach(Scenarios::forget);
+    }
+}
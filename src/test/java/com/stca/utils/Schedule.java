@@ -0,0 +1,97 @@
+package com.stca.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Longest-processing-time-first packing of tests onto a fixed number of workers or shards, from TestDurations.
+// A DataProvider test whose estimated total exceeds the ideal per-worker share is split into contiguous row ranges
+// first, so one large sheet cannot become the straggler. Ties are broken by name and worker index, so the same
+// history always yields the same plan.
+public class Schedule {
+
+    // One unit of work: a whole test method (fromRow = 0) or rows fromRow..toRow (1-based, inclusive) of one.
+    public record Work(String test, int fromRow, int toRow, long millis) {
+        public boolean isRowRange() {
+            return fromRow > 0;
+        }
+
+        @Override
+        public String toString() {
+            return isRowRange() ? test + "[" + fromRow + ".." + toRow + "]" : test;
+        }
+    }
+
+    public record Bin(int index, List<Work> work, long millis) {
+    }
+
+    private Schedule() {
+    }
+
+    // Splits and packs 'tests' ("Class.method") onto 'bins' workers. 'rowTests' are the tests fed by a DataProvider,
+    // which may be split into row ranges; their row count is the number of invocations in the history.
+    public static List<Bin> pack(List<String> tests, List<String> rowTests, TestDurations durations, int bins) {
+        return pack(tests, rowTests, durations::estimate, bins);
+    }
+
+    // As above, for work units that are not single test methods (e.g. a whole singleThreaded class).
+    public static List<Bin> pack(List<String> tests, List<String> rowTests, Function<String, TestDurations.Estimate> estimates, int bins) {
+        int count = Math.max(1, bins);
+        long total = 0;
+        for (String test : tests) {
+            total += estimates.apply(test).totalMillis();
+        }
+        long share = Math.max(1, total / count);
+
+        List<Work> work = new ArrayList<>();
+        for (String test : tests) {
+            TestDurations.Estimate estimate = estimates.apply(test);
+            int rows = estimate.invocations();
+            if (!rowTests.contains(test) || estimate.totalMillis() <= share || rows < 2) {
+                work.add(new Work(test, 0, 0, estimate.totalMillis()));
+                continue;
+            }
+            int parts = (int) Math.min(Math.min(count, rows), (estimate.totalMillis() + share - 1) / share);
+            for (int part = 0; part < parts; part++) {
+                int from = rows * part / parts + 1;
+                int to = part == parts - 1 ? Integer.MAX_VALUE : rows * (part + 1) / parts;
+                // The last range is open-ended, so rows added since the history was written still run
+                int size = (part == parts - 1 ? rows : to) - from + 1;
+                work.add(new Work(test, from, to, estimate.avgMillis() * size));
+            }
+        }
+        work.sort(Comparator.comparingLong(Work::millis).reversed().thenComparing(Work::toString));
+
+        long[] loads = new long[count];
+        List<List<Work>> assigned = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            assigned.add(new ArrayList<>());
+        }
+        for (Work item : work) {
+            int lightest = 0;
+            for (int i = 1; i < count; i++) {
+                if (loads[i] < loads[lightest]) {
+                    lightest = i;
+                }
+            }
+            assigned.get(lightest).add(item);
+            loads[lightest] += item.millis();
+        }
+
+        List<Bin> plan = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            plan.add(new Bin(i, List.copyOf(assigned.get(i)), loads[i]));
+        }
+        return plan;
+    }
+
+    public static String describe(List<Bin> plan) {
+        StringBuilder text = new StringBuilder();
+        for (Bin bin : plan) {
+            text.append(String.format(Locale.ROOT, "  %d: ~%.1f s %s%n", bin.index(), bin.millis() / 1000.0, bin.work()));
+        }
+        return text.toString();
+    }
+}
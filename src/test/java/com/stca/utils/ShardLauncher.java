@@ -0,0 +1,118 @@
+package com.stca.utils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Runs a TestNG suite as N shards in separate JVMs and merges their results into one report (mvn -Pshards ...).
+// Each shard runs the whole suite file with -Dshard.index=i; ShardListener keeps its part. Relevant system properties
+// of this JVM (browser, pool, application, data, budget and impact settings, and the chromedriver resolved here) are
+// passed on to every shard. Exits with 1 if a shard failed to run or any test failed, so the Maven build fails like
+// a normal test run.
+//   java -cp <test classpath> com.stca.utils.ShardLauncher testng.xml
+public class ShardLauncher {
+
+    public static final String OUTPUT_PROPERTY = "shard.outputDir";
+    public static final String REPORT_DIR_PROPERTY = "shard.reportDir";
+    public static final String JVM_ARGS_PROPERTY = "shard.jvmArgs";
+    public static final String THREADS_PROPERTY = "test.threads";
+
+    private static final List<String> FORWARDED_PREFIXES = List.of("aut.", "browser.", "driver.", "perf.", "excel.",
+            "sync.", "timings.", "artifacts.", "impact.", "schedule.", "dataprovider.", "tasks.", "scenarios.", "retry.", "webdriver.", "wdm.");
+
+    public static void main(String[] args) throws Exception {
+        String suiteFile = args.length > 0 ? args[0] : "testng.xml";
+        int count = ShardListener.count();
+        Path outputRoot = Path.of(System.getProperty(OUTPUT_PROPERTY, "target/shards"));
+        Path reportDir = Path.of(System.getProperty(REPORT_DIR_PROPERTY, "target/surefire-reports"));
+
+        System.out.println("Running " + suiteFile + " in " + count + " shard(s), output in " + outputRoot);
+        long start = System.nanoTime();
+        try {
+            // Resolved once here and passed on as webdriver.chrome.driver, so the shards skip the lookup
+            DriverBinary.resolve();
+        } catch (RuntimeException e) {
+            System.err.println("Could not resolve chromedriver before forking, shards will try themselves: " + e.getMessage());
+        }
+        List<Process> processes = new ArrayList<>();
+        List<Path> outputs = new ArrayList<>();
+        for (int index = 0; index < count; index++) {
+            Path output = outputRoot.resolve("shard-" + index);
+            Files.createDirectories(output);
+            outputs.add(output);
+            processes.add(new ProcessBuilder(command(suiteFile, index, count, output))
+                    .redirectErrorStream(true)
+                    .redirectOutput(output.resolve("console.log").toFile())
+                    .start());
+        }
+
+        boolean shardsOk = true;
+        for (int index = 0; index < count; index++) {
+            int exit = processes.get(index).waitFor();
+            System.out.println("Shard " + index + " finished with exit code " + exit + " (log: " + outputs.get(index).resolve("console.log") + ")");
+            // TestNG's exit code flags failed (1), skipped (2) and no (8) tests, which the merged report covers. Anything
+            // else, or a shard without results, means the JVM itself failed.
+            boolean ran = (exit & ~(1 | 2 | 8)) == 0 && Files.isRegularFile(outputs.get(index).resolve(ShardReports.RESULTS_FILE));
+            if (!ran) {
+                System.err.println("Shard " + index + " did not complete; see its console.log");
+            }
+            shardsOk &= ran;
+        }
+
+        ShardReports.Totals totals = ShardReports.merge(outputs, reportDir);
+        System.out.println(String.format(Locale.ROOT, "Shards finished in %.1f s: %d test(s), %d passed, %d failed, %d skipped. Merged report in %s",
+                (System.nanoTime() - start) / 1e9, totals.total(), totals.passed(), totals.failed(), totals.skipped(), reportDir));
+        if (Boolean.parseBoolean(System.getProperty(DurationScheduleListener.RECORD_PROPERTY, "true"))) {
+            ShardReports.recordDurations(outputs);
+        }
+        if (Boolean.parseBoolean(System.getProperty(Flakiness.RECORD_PROPERTY, "true"))) {
+            ShardReports.recordOutcomes(outputs);
+        }
+        System.exit(shardsOk && totals.failed() == 0 ? 0 : 1);
+    }
+
+    private static List<String> command(String suiteFile, int index, int count, Path output) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        for (String arg : System.getProperty(JVM_ARGS_PROPERTY, "").split(" ")) {
+            if (!arg.isBlank()) {
+                command.add(arg);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+            String name = property.getKey().toString();
+            // A fixed replica port would collide; every shard picks a free one
+            if (FORWARDED_PREFIXES.stream().anyMatch(name::startsWith) && !name.equals(LocalSauceDemoListener.PORT_PROPERTY)) {
+                command.add("-D" + name + "=" + property.getValue());
+            }
+        }
+        command.add("-D" + ShardListener.COUNT_PROPERTY + "=" + count);
+        command.add("-D" + ShardListener.INDEX_PROPERTY + "=" + index);
+        if (System.getProperty(THREADS_PROPERTY) != null) {
+            // DriverPool sizes its default pool from the thread count
+            command.add("-D" + THREADS_PROPERTY + "=" + System.getProperty(THREADS_PROPERTY));
+        }
+        // Shards share one history file; the launcher updates it from the merged results instead
+        command.add("-D" + DurationScheduleListener.RECORD_PROPERTY + "=false");
+        command.add("-D" + Flakiness.RECORD_PROPERTY + "=false");
+        command.add("-D" + Flakiness.OUTCOMES_PROPERTY + "=" + output.resolve(ShardReports.OUTCOMES_FILE));
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(output.toString());
+        String threads = System.getProperty(THREADS_PROPERTY);
+        if (threads != null) {
+            command.add("-threadcount");
+            command.add(threads);
+            command.add("-dataproviderthreadcount");
+            command.add(threads);
+        }
+        command.add(new File(suiteFile).getPath());
+        return command;
+    }
+}
@@ -0,0 +1,153 @@
+package com.stca.utils;
+
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps only this shard's part of the suite when ShardLauncher runs it in several JVMs (-Dshard.count=N,
+// -Dshard.index=0..N-1). Every shard computes the same assignment independently:
+//   - with a duration history, shard i runs bin i of Schedule.pack, so large DataProvider sweeps are split into
+//     row ranges and every shard gets about the same expected time;
+//   - without one, tests are assigned by a stable hash of their name, and DataProvider rows are dealt round-robin.
+// Methods of a singleThreaded class always stay on one shard. Without shard.count the suite is left as it is.
+public class ShardListener implements IMethodInterceptor, IDataProviderInterceptor {
+
+    public static final String COUNT_PROPERTY = "shard.count";
+    public static final String INDEX_PROPERTY = "shard.index";
+
+    // Rows kept per DataProvider test on this shard; an empty list means every row
+    private final Map<String, List<int[]>> rowRanges = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> roundRobin = new ConcurrentHashMap<>();
+
+    public static int count() {
+        return Math.max(1, Integer.getInteger(COUNT_PROPERTY, 1));
+    }
+
+    public static int index() {
+        int index = Integer.getInteger(INDEX_PROPERTY, 0);
+        if (index < 0 || index >= count()) {
+            throw new IllegalArgumentException(INDEX_PROPERTY + " must be between 0 and " + (count() - 1) + ", got " + index);
+        }
+        return index;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (count() == 1) {
+            return methods;
+        }
+        TestDurations durations = TestDurations.load();
+        Map<String, List<IMethodInstance>> units = new LinkedHashMap<>();
+        Map<String, TestDurations.Estimate> estimates = new LinkedHashMap<>();
+        List<String> rowUnits = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String test = DurationScheduleListener.key(method);
+            String unit = DurationScheduleListener.singleThreaded(method) ? method.getRealClass().getName() : test;
+            List<IMethodInstance> members = units.computeIfAbsent(unit, k -> new ArrayList<>());
+            if (members.stream().noneMatch(m -> m.getMethod().equals(method))) {
+                TestDurations.Estimate estimate = durations.estimate(test);
+                estimates.merge(unit, estimate, (a, b) -> new TestDurations.Estimate(a.totalMillis() + b.totalMillis(), 1));
+            }
+            members.add(instance);
+            if (method.isDataDriven() && unit.equals(test)) {
+                rowUnits.add(unit);
+            }
+        }
+
+        List<IMethodInstance> kept = new ArrayList<>();
+        if (durations.isEmpty()) {
+            for (Map.Entry<String, List<IMethodInstance>> unit : units.entrySet()) {
+                if (rowUnits.contains(unit.getKey())) {
+                    roundRobin.put(unit.getKey(), true);
+                    kept.addAll(unit.getValue());
+                } else if (Math.floorMod(unit.getKey().hashCode(), count()) == index()) {
+                    kept.addAll(unit.getValue());
+                }
+            }
+            System.out.println("Shard " + index() + "/" + count() + " (no duration history, hashed): " + kept.size() + " of " + methods.size() + " method(s).");
+            return kept;
+        }
+
+        Schedule.Bin bin = Schedule.pack(new ArrayList<>(units.keySet()), rowUnits, estimates::get, count()).get(index());
+        for (Schedule.Work work : bin.work()) {
+            if (work.isRowRange()) {
+                rowRanges.computeIfAbsent(work.test(), k -> new ArrayList<>()).add(new int[] {work.fromRow(), work.toRow()});
+            } else {
+                rowRanges.put(work.test(), List.of());
+            }
+        }
+        for (Map.Entry<String, List<IMethodInstance>> unit : units.entrySet()) {
+            if (rowRanges.containsKey(unit.getKey())) {
+                kept.addAll(unit.getValue());
+            }
+        }
+        System.out.println("Shard " + index() + "/" + count() + ": ~" + bin.millis() / 1000 + " s, " + bin.work());
+        return kept;
+    }
+
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod, ITestNGMethod method, ITestContext context) {
+        String test = DurationScheduleListener.key(method);
+        if (roundRobin.containsKey(test)) {
+            int count = count();
+            int index = index();
+            return new Filtered(original, row -> (row - 1) % count == index);
+        }
+        List<int[]> ranges = rowRanges.get(test);
+        if (ranges == null || ranges.isEmpty()) {
+            return original;
+        }
+        return new Filtered(original, row -> ranges.stream().anyMatch(range -> row >= range[0] && row <= range[1]));
+    }
+
+    private interface RowFilter {
+        boolean keep(int row);
+    }
+
+    // Passes through the rows (1-based) the filter keeps, pulling lazily so streamed sheets stay streamed.
+    private static class Filtered implements Iterator<Object[]> {
+
+        private final Iterator<Object[]> source;
+        private final RowFilter filter;
+        private int row;
+        private Object[] next;
+
+        Filtered(Iterator<Object[]> source, RowFilter filter) {
+            this.source = source;
+            this.filter = filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && source.hasNext()) {
+                Object[] candidate = source.next();
+                if (filter.keep(++row)) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.stca.utils;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Merges the TestNG output of several shards into one testng-results.xml (one <suite> per shard, summed totals) and
+// one JUnit TEST-<class>.xml per test class (test cases of a class split across shards are joined again), so CI
+// sees a single run. Also feeds the shards' test-method durations back into the TestDurations history and their
+// test outcomes into the Flakiness history, so the shards themselves never write the shared history files.
+public class ShardReports {
+
+    public static final String RESULTS_FILE = "testng-results.xml";
+    public static final String OUTCOMES_FILE = "test-outcomes.properties";
+
+    private static final List<String> TOTALS = List.of("total", "passed", "failed", "skipped", "ignored");
+    private static final List<String> JUNIT_COUNTS = List.of("tests", "failures", "errors", "skipped", "ignored");
+
+    public record Totals(int total, int passed, int failed, int skipped) {
+    }
+
+    private ShardReports() {
+    }
+
+    public static Totals merge(List<Path> shardOutputs, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element root = merged.createElement("testng-results");
+            merged.appendChild(root);
+            Map<String, Integer> totals = new TreeMap<>();
+            Map<String, Document> junit = new TreeMap<>();
+
+            for (int index = 0; index < shardOutputs.size(); index++) {
+                Path output = shardOutputs.get(index);
+                Path results = output.resolve(RESULTS_FILE);
+                if (Files.isRegularFile(results)) {
+                    Element shardRoot = builder.parse(results.toFile()).getDocumentElement();
+                    for (String name : TOTALS) {
+                        totals.merge(name, intAttribute(shardRoot, name), Integer::sum);
+                    }
+                    NodeList suites = shardRoot.getElementsByTagName("suite");
+                    for (int i = 0; i < suites.getLength(); i++) {
+                        Element suite = (Element) merged.importNode(suites.item(i), true);
+                        suite.setAttribute("name", suite.getAttribute("name") + " [shard " + index + "]");
+                        root.appendChild(suite);
+                    }
+                }
+                Path junitDir = output.resolve("junitreports");
+                if (Files.isDirectory(junitDir)) {
+                    try (DirectoryStream<Path> files = Files.newDirectoryStream(junitDir, "TEST-*.xml")) {
+                        for (Path file : files) {
+                            mergeJUnit(junit, file.getFileName().toString(), builder.parse(file.toFile()));
+                        }
+                    }
+                }
+            }
+
+            for (String name : TOTALS) {
+                root.setAttribute(name, String.valueOf(totals.getOrDefault(name, 0)));
+            }
+            write(merged, reportDir.resolve(RESULTS_FILE));
+            for (Map.Entry<String, Document> entry : junit.entrySet()) {
+                write(entry.getValue(), reportDir.resolve(entry.getKey()));
+            }
+            return new Totals(totals.getOrDefault("total", 0), totals.getOrDefault("passed", 0),
+                    totals.getOrDefault("failed", 0), totals.getOrDefault("skipped", 0));
+        } catch (ParserConfigurationException | SAXException | TransformerException e) {
+            throw new IOException("Could not merge shard reports", e);
+        }
+    }
+
+    // Records every test method's duration from the shard results into the TestDurations history.
+    public static void recordDurations(List<Path> shardOutputs) {
+        TestDurations durations = TestDurations.load();
+        try {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            for (Path output : shardOutputs) {
+                Path results = output.resolve(RESULTS_FILE);
+                if (!Files.isRegularFile(results)) {
+                    continue;
+                }
+                NodeList classes = builder.parse(results.toFile()).getElementsByTagName("class");
+                for (int i = 0; i < classes.getLength(); i++) {
+                    Element testClass = (Element) classes.item(i);
+                    NodeList methods = testClass.getElementsByTagName("test-method");
+                    for (int j = 0; j < methods.getLength(); j++) {
+                        Element method = (Element) methods.item(j);
+                        if (!"true".equals(method.getAttribute("is-config")) && !"SKIP".equals(method.getAttribute("status"))) {
+                            durations.record(testClass.getAttribute("name") + "." + method.getAttribute("name"),
+                                    Long.parseLong(method.getAttribute("duration-ms")));
+                        }
+                    }
+                }
+            }
+            durations.save();
+        } catch (ParserConfigurationException | SAXException | IOException | NumberFormatException e) {
+            System.err.println("Could not record shard durations: " + e.getMessage());
+        }
+    }
+
+    // Appends the outcomes each shard wrote to its OUTCOMES_FILE (-Dretry.outcomes) to the Flakiness history.
+    public static void recordOutcomes(List<Path> shardOutputs) {
+        Flakiness flakiness = Flakiness.load();
+        try {
+            for (Path output : shardOutputs) {
+                Path file = output.resolve(OUTCOMES_FILE);
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                Properties outcomes = new Properties();
+                try (InputStream in = Files.newInputStream(file)) {
+                    outcomes.load(in);
+                }
+                for (String key : outcomes.stringPropertyNames()) {
+                    String outcome = outcomes.getProperty(key).trim();
+                    if (outcome.length() == 1) {
+                        flakiness.record(key, outcome.charAt(0));
+                    }
+                }
+            }
+            flakiness.save();
+        } catch (IOException e) {
+            System.err.println("Could not record shard test outcomes: " + e.getMessage());
+        }
+    }
+
+    // Adds the test cases of one shard's TEST-<class>.xml to the merged document for that class, summing its counts.
+    private static void mergeJUnit(Map<String, Document> junit, String fileName, Document shard) {
+        Document merged = junit.get(fileName);
+        if (merged == null) {
+            junit.put(fileName, shard);
+            return;
+        }
+        Element target = merged.getDocumentElement();
+        Element source = shard.getDocumentElement();
+        for (String name : JUNIT_COUNTS) {
+            if (target.hasAttribute(name) || source.hasAttribute(name)) {
+                target.setAttribute(name, String.valueOf(intAttribute(target, name) + intAttribute(source, name)));
+            }
+        }
+        double time = doubleAttribute(target, "time") + doubleAttribute(source, "time");
+        target.setAttribute("time", String.format(Locale.ROOT, "%.3f", time));
+        NodeList children = source.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element element && element.getTagName().equals("testcase")) {
+                target.appendChild(merged.importNode(child, true));
+            }
+        }
+    }
+
+    private static void write(Document document, Path file) throws TransformerException {
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.transform(new DOMSource(document), new StreamResult(file.toFile()));
+    }
+
+    private static int intAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isBlank() ? 0 : Integer.parseInt(value.trim());
+    }
+
+    private static double doubleAttribute(Element element, String name) {
+        String value = element.getAttribute(name).replace(",", "");
+        return value.isBlank() ? 0 : Double.parseDouble(value.trim());
+    }
+}
@@ -0,0 +1,46 @@
+package com.stca.utils;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Attributes step timings to the test or configuration method running on each thread, and writes the
+// step-timings report next to the Surefire results when the suite finishes.
+public class StepTimingListener implements IInvokedMethodListener, ISuiteListener {
+
+    public static final String REPORT_DIR_PROPERTY = "timings.reportDir";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        StepTimings.setTest(testMethod.getRealClass().getSimpleName() + "." + testMethod.getMethodName());
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        StepTimings.clearTest();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            StepTimings.writeReport(reportDirectory(suite), suite.getName());
+        } catch (IOException e) {
+            System.err.println("Could not write step timings report: " + e.getMessage());
+        }
+    }
+
+    // The suite output directory is <reports>/<suite name>; reports go one level up, beside the Surefire XML.
+    static Path reportDirectory(ISuite suite) {
+        String configured = System.getProperty(REPORT_DIR_PROPERTY);
+        File directory = configured != null ? new File(configured) : new File(suite.getOutputDirectory()).getParentFile();
+        return Path.of(directory.getPath());
+    }
+}
@@ -0,0 +1,296 @@
+package com.stca.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Records the latency of every WebDriver command (findElement, click, sendKeys, navigation, script, ...) and
+// every Sync wait, keyed by test method, page path and step, and writes them as JSON and CSV histograms.
+// Only outermost steps are recorded: the polling done inside a wait is part of that wait, so the recorded
+// times add up to the time the suite actually spent in the browser.
+public class StepTimings implements WebDriverListener {
+
+    public static final String ENABLED_PROPERTY = "timings.enabled";
+
+    // Histogram bucket upper bounds in milliseconds; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000};
+
+    // Calls that only hand out another WebDriver interface and do no browser work
+    private static final Set<String> IGNORED_METHODS = Set.of("manage", "navigate", "switchTo", "timeouts", "window",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final StepTimings LISTENER = new StepTimings();
+    private static final Map<Key, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<String> test = ThreadLocal.withInitial(() -> "(outside tests)");
+    private static final ThreadLocal<String> page = ThreadLocal.withInitial(() -> "(none)");
+    private static final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private StepTimings() {
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    // Wraps a freshly created driver so its commands are timed; returns it unchanged when timings are off.
+    public static WebDriver instrument(WebDriver driver) {
+        if (!enabled()) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(LISTENER).decorate(driver);
+    }
+
+    // Names the test (or configuration) method running on this thread; steps are attributed to it.
+    public static void setTest(String name) {
+        test.set(name);
+    }
+
+    public static String currentTest() {
+        return test.get();
+    }
+
+    // Names the page this thread's next steps run on. get()/navigate().to() set it themselves; page objects call
+    // it once they have waited for a page reached by a click, so no extra getCurrentUrl() round trip is needed.
+    public static void setPage(String path) {
+        page.set(path);
+    }
+
+    // The page is kept: a test usually continues on the page its @BeforeMethod opened.
+    public static void clearTest() {
+        test.remove();
+        starts.remove();
+    }
+
+    // start()/stop(step) time a block such as a wait; WebDriver calls made inside it are not recorded separately.
+    public static void start() {
+        starts.get().push(System.nanoTime());
+    }
+
+    public static void stop(String step) {
+        Deque<Long> stack = starts.get();
+        if (stack.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - stack.pop();
+        if (stack.isEmpty() && enabled()) {
+            histograms.computeIfAbsent(new Key(test.get(), page.get(), step), k -> new Histogram()).record(elapsed);
+        }
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        String name = method.getName();
+        if (IGNORED_METHODS.contains(name)) {
+            return;
+        }
+        // A navigation is attributed to the page it loads
+        if (starts.get().isEmpty() && (name.equals("get") || name.equals("to")) && args != null && args.length == 1) {
+            page.set(pagePath(String.valueOf(args[0])));
+        }
+        start();
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        String name = method.getName();
+        if (IGNORED_METHODS.contains(name)) {
+            return;
+        }
+        stop(stepName(target, name));
+    }
+
+    private static String stepName(Object target, String method) {
+        if (target instanceof WebDriver || target instanceof WebElement) {
+            return method;
+        }
+        if (target instanceof WebDriver.Navigation) {
+            return "navigate." + method;
+        }
+        return "manage." + method;
+    }
+
+    private static String pagePath(String url) {
+        if (url.startsWith("about:") || url.startsWith("data:")) {
+            return url.startsWith("data:") ? "data:" : url;
+        }
+        try {
+            String path = URI.create(url).getPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return url;
+        }
+    }
+
+    // Writes step-timings.json and step-timings.csv into 'directory' and prints the most expensive steps.
+    public static void writeReport(Path directory, String suiteName) throws IOException {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Map<Key, Histogram> snapshot = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+                .sorted(Comparator.comparing((Map.Entry<Key, Histogram> e) -> e.getKey().test())
+                        .thenComparing(e -> e.getKey().page()).thenComparing(e -> e.getKey().step()))
+                .forEach(e -> snapshot.put(e.getKey(), e.getValue().copy()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suiteName);
+        report.put("generatedAt", Instant.now().toString());
+        report.put("bucketBoundsMillis", Arrays.stream(BUCKET_BOUNDS_MS).boxed().toList());
+        report.put("byStep", summarize(snapshot, Key::step));
+        report.put("byTest", summarize(snapshot, Key::test));
+        report.put("byPage", summarize(snapshot, Key::page));
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Map.Entry<Key, Histogram> entry : snapshot.entrySet()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("test", entry.getKey().test());
+            row.put("page", entry.getKey().page());
+            row.put("step", entry.getKey().step());
+            row.putAll(entry.getValue().toMap());
+            entries.add(row);
+        }
+        report.put("entries", entries);
+        Files.writeString(directory.resolve("step-timings.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+
+        try (Writer out = Files.newBufferedWriter(directory.resolve("step-timings.csv"), StandardCharsets.UTF_8);
+             PrintWriter csv = new PrintWriter(out)) {
+            csv.println("test,page,step,count,total_ms,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+            for (Map.Entry<Key, Histogram> entry : snapshot.entrySet()) {
+                Histogram h = entry.getValue();
+                csv.println(csvField(entry.getKey().test()) + "," + csvField(entry.getKey().page()) + "," + csvField(entry.getKey().step())
+                        + "," + h.count + "," + millis(h.totalNanos) + "," + millis(h.totalNanos / h.count)
+                        + "," + h.percentileMillis(0.50) + "," + h.percentileMillis(0.90) + "," + h.percentileMillis(0.99)
+                        + "," + millis(h.maxNanos));
+            }
+        }
+
+        System.out.println("Step timings written to " + directory.resolve("step-timings.json") + " and step-timings.csv. Slowest steps (count, total ms, p90 ms):");
+        summarize(snapshot, Key::step).stream().limit(10).forEach(row ->
+                System.out.println("  " + row.get("name") + ": " + row.get("count") + ", " + row.get("totalMillis") + ", " + row.get("p90Millis")));
+    }
+
+    // Merges the histograms by one key dimension, most total time first.
+    private static List<Map<String, Object>> summarize(Map<Key, Histogram> snapshot, Function<Key, String> dimension) {
+        Map<String, Histogram> merged = new LinkedHashMap<>();
+        for (Map.Entry<Key, Histogram> entry : snapshot.entrySet()) {
+            merged.computeIfAbsent(dimension.apply(entry.getKey()), k -> new Histogram()).add(entry.getValue());
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        merged.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().totalNanos).reversed())
+                .forEach(e -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    row.put("name", e.getKey());
+                    row.putAll(e.getValue().toMap());
+                    rows.add(row);
+                });
+        return rows;
+    }
+
+    private static String csvField(String value) {
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    private record Key(String test, String page, String step) {
+    }
+
+    private static class Histogram {
+        long count;
+        long totalNanos;
+        long maxNanos;
+        final long[] buckets = new long[BUCKET_BOUNDS_MS.length + 1];
+
+        synchronized void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && nanos > BUCKET_BOUNDS_MS[bucket] * 1_000_000) {
+                bucket++;
+            }
+            buckets[bucket]++;
+        }
+
+        synchronized Histogram copy() {
+            Histogram copy = new Histogram();
+            copy.add(this);
+            return copy;
+        }
+
+        void add(Histogram other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+        }
+
+        // Upper bound of the bucket holding the given quantile, capped at the observed maximum.
+        double percentileMillis(double quantile) {
+            long target = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                seen += buckets[i];
+                if (seen >= target) {
+                    return Math.min(BUCKET_BOUNDS_MS[i], millis(maxNanos));
+                }
+            }
+            return millis(maxNanos);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalMillis", millis(totalNanos));
+            map.put("meanMillis", count == 0 ? 0 : millis(totalNanos / count));
+            map.put("p50Millis", percentileMillis(0.50));
+            map.put("p90Millis", percentileMillis(0.90));
+            map.put("p99Millis", percentileMillis(0.99));
+            map.put("maxMillis", millis(maxNanos));
+            map.put("buckets", Arrays.stream(buckets).boxed().toList());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.stca.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Shared synchronization helpers used instead of fixed Thread.sleep pauses.
+// Every wait returns as soon as its page-state condition holds and records how long it actually took.
+// The page-state waits (settle, urlContains, visible, anyVisible) run inside the page: one asynchronous
+// script checks the condition, then re-checks it on every DOM mutation, load/readyState change, URL change and
+// XHR/fetch completion, and answers the moment it holds, so a wait costs one chromedriver command instead of one
+// per 50 ms poll. A navigation ends the script and the wait is re-issued in the new document. -Dsync.events=false
+// (or a browser where the script keeps failing) falls back to polling with WebDriverWait.
+public class Sync {
+
+    public static final String TIMEOUT_PROPERTY = "sync.timeoutSeconds";
+    public static final String QUIET_PERIOD_PROPERTY = "sync.quietMillis";
+    public static final String EVENTS_PROPERTY = "sync.events";
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    // Longest single in-page wait; stays below chromedriver's default 30 s script timeout
+    private static final long MAX_EVENT_WAIT_MILLIS = 20_000;
+    // Consecutive failed in-page waits (other than the one a navigation causes) before falling back to polling
+    private static final int MAX_EVENT_ERRORS = 5;
+
+    // Installs (once per document) a MutationObserver plus XHR/fetch counters. Request starts and ends are also
+    // announced as 'stca:network' window events, which wake the in-page waits.
+    private static final String INSTALL_SCRIPT = """
+            var s = window.__stcaSync;
+            if (!s) {
+                s = window.__stcaSync = { pending: 0, lastChange: performance.now() };
+                var touch = function () { s.lastChange = performance.now(); };
+                var network = function () { touch(); window.dispatchEvent(new Event('stca:network')); };
+                new MutationObserver(touch).observe(document,
+                        { subtree: true, childList: true, attributes: true, characterData: true });
+                var send = XMLHttpRequest.prototype.send;
+                XMLHttpRequest.prototype.send = function () {
+                    s.pending++; network();
+                    this.addEventListener('loadend', function () { s.pending--; network(); });
+                    return send.apply(this, arguments);
+                };
+                if (window.fetch) {
+                    var fetch = window.fetch;
+                    window.fetch = function () {
+                        s.pending++; network();
+                        return fetch.apply(this, arguments).finally(function () { s.pending--; network(); });
+                    };
+                }
+            }
+            """;
+
+    // Reports whether the page is loaded, has no requests in flight and has not changed for the quiet period
+    // passed as arguments[0].
+    private static final String SETTLED_SCRIPT = INSTALL_SCRIPT + """
+            return document.readyState === 'complete' && s.pending === 0
+                    && performance.now() - s.lastChange >= arguments[0];
+            """;
+
+    // In-page conditions: function bodies over 'args' returning a truthy value once the condition holds, or a
+    // number of milliseconds after which to check again although nothing happened (the rest of a quiet period).
+    private static final String SETTLED_CHECK = INSTALL_SCRIPT + """
+            if (document.readyState !== 'complete' || s.pending > 0) { return false; }
+            var idle = performance.now() - s.lastChange;
+            return idle >= args[0] ? true : args[0] - idle;
+            """;
+    private static final String URL_CONTAINS_CHECK = "return window.location.href.indexOf(args[0]) >= 0;";
+    private static final String ANY_VISIBLE_CHECK = """
+            for (var i = 0; i < args.length; i++) {
+                var element = find(args[i][0], args[i][1]);
+                if (shown(element)) { return element; }
+            }
+            return false;
+            """;
+    private static final String VISIBLE_CHECK = "return shown(args[0]) && args[0];";
+
+    // Runs the condition built from CHECK_PREFIX + body + CHECK_SUFFIX until it holds, the page goes away or
+    // arguments[1] milliseconds pass, and answers {value}, {navigating} or {timedOut}. A visible element has a
+    // rendered box and is not hidden by display, visibility or opacity, like WebElement.isDisplayed().
+    private static final String CHECK_PREFIX = """
+            var args = arguments[0], waitMillis = arguments[1], done = arguments[arguments.length - 1];
+            var find = function (using, value) {
+                if (using === 'xpath') {
+                    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                }
+                return document.querySelector(value);
+            };
+            var shown = function (element) {
+                if (!element || !element.isConnected) { return false; }
+                var box = element.getBoundingClientRect();
+                if (box.width === 0 && box.height === 0) { return false; }
+                if (element.checkVisibility) {
+                    return element.checkVisibility({ checkOpacity: true, checkVisibilityCSS: true });
+                }
+                var style = window.getComputedStyle(element);
+                return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';
+            };
+            var check = function (args) {
+            """;
+    private static final String CHECK_SUFFIX = """
+            };
+            var events = ['readystatechange', 'load', 'pageshow', 'popstate', 'hashchange',
+                    'transitionend', 'animationend', 'stca:network'];
+            var finished = false, observer = null, timer = null, retry = null;
+            var finish = function (outcome) {
+                if (finished) { return; }
+                finished = true;
+                clearTimeout(timer);
+                clearTimeout(retry);
+                if (observer) { observer.disconnect(); }
+                events.forEach(function (type) { window.removeEventListener(type, evaluate, true); });
+                window.removeEventListener('pagehide', navigating, true);
+                done(outcome);
+            };
+            var navigating = function () { finish({ navigating: true }); };
+            var evaluate = function () {
+                if (finished) { return; }
+                var result;
+                try { result = check(args); } catch (e) { result = false; }
+                clearTimeout(retry);
+                if (typeof result === 'number') {
+                    retry = setTimeout(evaluate, Math.max(1, result));
+                } else if (result) {
+                    finish({ value: result });
+                }
+            };
+            // The first check installs what the condition relies on (e.g. the settle observer) before our own
+            // observer, so that one has already seen a mutation when this one re-checks
+            evaluate();
+            if (!finished) {
+                observer = new MutationObserver(evaluate);
+                observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });
+                events.forEach(function (type) { window.addEventListener(type, evaluate, true); });
+                window.addEventListener('pagehide', navigating, true);
+                timer = setTimeout(function () { finish({ timedOut: true }); }, waitMillis);
+            }
+            """;
+
+    private static final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    private Sync() {
+    }
+
+    public static Duration defaultTimeout() {
+        return Duration.ofSeconds(Long.getLong(TIMEOUT_PROPERTY, 10L));
+    }
+
+    public static boolean eventsEnabled() {
+        return Boolean.parseBoolean(System.getProperty(EVENTS_PROPERTY, "true"));
+    }
+
+    // Polls 'condition' every 50 ms; for conditions that have no in-page equivalent.
+    public static <T> T until(WebDriver driver, String label, ExpectedCondition<T> condition) {
+        return until(driver, label, condition, defaultTimeout());
+    }
+
+    public static <T> T until(WebDriver driver, String label, ExpectedCondition<T> condition, Duration timeout) {
+        return timed(label, () -> poll(driver, label, condition, timeout));
+    }
+
+    // Waits until the document is loaded, no XHR/fetch is in flight and the DOM has been quiet for a short period.
+    public static void settle(WebDriver driver) {
+        long quietMillis = Long.getLong(QUIET_PERIOD_PROPERTY, 100L);
+        inPage(driver, "settle", "page to settle", SETTLED_CHECK, List.of(quietMillis),
+                d -> (Boolean) ((JavascriptExecutor) d).executeScript(SETTLED_SCRIPT, quietMillis));
+    }
+
+    public static void urlContains(WebDriver driver, String fragment) {
+        inPage(driver, "urlContains", "url to contain \"" + fragment + "\"", URL_CONTAINS_CHECK, List.of(fragment),
+                ExpectedConditions.urlContains(fragment));
+    }
+
+    public static WebElement visible(WebDriver driver, By locator) {
+        return anyVisible(driver, "visible", locator);
+    }
+
+    // Waits until the first element of any of 'locators' is visible and returns it, e.g. the inventory or the
+    // login error, whichever the application shows.
+    public static WebElement anyVisible(WebDriver driver, String label, By... locators) {
+        List<Object> args = new ArrayList<>();
+        for (By locator : locators) {
+            List<String> remote = remote(locator);
+            if (remote == null) {
+                args = null;
+                break;
+            }
+            args.add(remote);
+        }
+        ExpectedCondition<WebElement> polled = d -> {
+            for (By locator : locators) {
+                List<WebElement> found = d.findElements(locator);
+                if (!found.isEmpty() && found.get(0).isDisplayed()) {
+                    return found.get(0);
+                }
+            }
+            return null;
+        };
+        String description = "visibility of " + List.of(locators);
+        if (args == null) {
+            return until(driver, label, polled);
+        }
+        return inPage(driver, label, description, ANY_VISIBLE_CHECK, args, polled);
+    }
+
+    public static WebElement visible(WebDriver driver, WebElement element) {
+        return inPage(driver, "visible", "visibility of " + element, VISIBLE_CHECK, List.of(element),
+                ExpectedConditions.visibilityOf(element));
+    }
+
+    public static void printSummary() {
+        if (stats.isEmpty()) {
+            return;
+        }
+        System.out.println("Synchronization summary (label: waits, total ms, max ms, timeouts, browser commands):");
+        for (Map.Entry<String, Stat> entry : new TreeMap<>(stats).entrySet()) {
+            Stat stat = entry.getValue();
+            System.out.println("  " + entry.getKey() + ": " + stat.count.get() + ", " + stat.totalMillis.get() + ", "
+                    + stat.maxMillis.get() + ", " + stat.timeouts.get() + ", " + stat.commands.get());
+        }
+    }
+
+    // Waits for the in-page 'check' (see CHECK_PREFIX) with the default timeout, or polls 'polled' when in-page
+    // waits are off or keep failing.
+    @SuppressWarnings("unchecked")
+    private static <T> T inPage(WebDriver driver, String label, String description, String check, List<Object> args,
+                                ExpectedCondition<T> polled) {
+        Duration timeout = defaultTimeout();
+        if (!eventsEnabled() || !(driver instanceof JavascriptExecutor js)) {
+            return until(driver, label, polled, timeout);
+        }
+        String script = CHECK_PREFIX + check + CHECK_SUFFIX;
+        return timed(label, () -> {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            int errors = 0;
+            while (true) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("Expected condition failed: waiting for " + description + " (tried for "
+                            + timeout.toSeconds() + " second(s) with in-page events)");
+                }
+                stat(label).commands.incrementAndGet();
+                Object outcome;
+                try {
+                    outcome = js.executeAsyncScript(script, args, Math.min(remainingMillis, MAX_EVENT_WAIT_MILLIS));
+                } catch (ScriptTimeoutException e) {
+                    continue;
+                } catch (WebDriverException e) {
+                    // A navigation can tear the document down before the script answers; anything that keeps
+                    // failing means the browser cannot run the in-page wait, so poll for the rest of the timeout
+                    if (++errors >= MAX_EVENT_ERRORS) {
+                        return poll(driver, label, polled, Duration.ofMillis(Math.max(1, remainingMillis)));
+                    }
+                    continue;
+                }
+                errors = 0;
+                if (outcome instanceof Map<?, ?> result && result.containsKey("value")) {
+                    return (T) result.get("value");
+                }
+            }
+        });
+    }
+
+    private static <T> T poll(WebDriver driver, String label, ExpectedCondition<T> condition, Duration timeout) {
+        Stat stat = stat(label);
+        WebDriverWait wait = new WebDriverWait(driver, timeout, POLL_INTERVAL);
+        return wait.until(new ExpectedCondition<T>() {
+            @Override
+            public T apply(WebDriver d) {
+                stat.commands.incrementAndGet();
+                return condition.apply(d);
+            }
+
+            @Override
+            public String toString() {
+                return condition.toString();
+            }
+        });
+    }
+
+    private static <T> T timed(String label, Supplier<T> wait) {
+        long start = System.nanoTime();
+        boolean timedOut = true;
+        StepTimings.start();
+        try {
+            T result = wait.get();
+            timedOut = false;
+            return result;
+        } finally {
+            StepTimings.stop("wait." + label);
+            record(label, (System.nanoTime() - start) / 1_000_000, timedOut);
+        }
+    }
+
+    // [using, value] of a CSS or XPath locator (By.id, By.className and By.name are sent as CSS), or null.
+    private static List<String> remote(By locator) {
+        if (locator instanceof By.Remotable remotable) {
+            By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+            if ("css selector".equals(parameters.using()) || "xpath".equals(parameters.using())) {
+                return List.of(parameters.using(), String.valueOf(parameters.value()));
+            }
+        }
+        return null;
+    }
+
+    private static Stat stat(String label) {
+        return stats.computeIfAbsent(label, k -> new Stat());
+    }
+
+    private static void record(String label, long millis, boolean timedOut) {
+        Stat stat = stat(label);
+        stat.count.incrementAndGet();
+        stat.totalMillis.addAndGet(millis);
+        stat.maxMillis.accumulateAndGet(millis, Math::max);
+        if (timedOut) {
+            stat.timeouts.incrementAndGet();
+        }
+    }
+
+    private static class Stat {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong totalMillis = new AtomicLong();
+        final AtomicLong maxMillis = new AtomicLong();
+        final AtomicLong timeouts = new AtomicLong();
+        // chromedriver commands issued by the wait: condition checks when polling, scripts when waiting in the page
+        final AtomicLong commands = new AtomicLong();
+    }
+}
@@ -0,0 +1,13 @@
+package com.stca.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+// Prints how long the suite spent in each kind of synchronization wait.
+public class SyncSummaryListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Sync.printSummary();
+    }
+}
@@ -0,0 +1,118 @@
+package com.stca.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-test durations from previous runs, keyed by "Class.method". Each entry keeps the average time of one
+// invocation and the number of invocations (data rows) in the last run, so a DataProvider method's total can be
+// estimated and split into row ranges. Stored as 'key=avgMillis,invocations' in test-durations.properties at the
+// project root (or -Dschedule.history=...). The file is git-ignored and outlives mvn clean; cache it between CI runs.
+public class TestDurations {
+
+    public static final String HISTORY_PROPERTY = "schedule.history";
+
+    private static final String DEFAULT_HISTORY = "test-durations.properties";
+    // Weight of the latest run when it is blended into the stored average
+    private static final double SMOOTHING = 0.5;
+
+    public record Estimate(long avgMillis, int invocations) {
+        public long totalMillis() {
+            return avgMillis * Math.max(1, invocations);
+        }
+    }
+
+    private final Map<String, Estimate> history = new ConcurrentHashMap<>();
+    private final Map<String, long[]> current = new ConcurrentHashMap<>();
+
+    public static Path historyFile() {
+        return Path.of(System.getProperty(HISTORY_PROPERTY, DEFAULT_HISTORY));
+    }
+
+    public static TestDurations load() {
+        TestDurations durations = new TestDurations();
+        Path file = historyFile();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Could not read test durations from " + file + ": " + e.getMessage());
+            return durations;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = properties.getProperty(key).split(",");
+            try {
+                durations.history.put(key, new Estimate(Long.parseLong(parts[0].trim()), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1));
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring malformed test duration '" + key + "=" + properties.getProperty(key) + "'");
+            }
+        }
+        return durations;
+    }
+
+    public boolean isEmpty() {
+        return history.isEmpty();
+    }
+
+    // Estimate for tests without history: the mean per-invocation time of the known tests, one invocation.
+    public Estimate fallback() {
+        long average = Math.round(history.values().stream().mapToLong(Estimate::avgMillis).average().orElse(1000));
+        return new Estimate(average, 1);
+    }
+
+    public Estimate estimate(String test) {
+        Estimate known = history.get(test);
+        return known != null ? known : fallback();
+    }
+
+    // Records one invocation of 'test' in the running suite.
+    public void record(String test, long millis) {
+        long[] totals = current.computeIfAbsent(test, k -> new long[2]);
+        synchronized (totals) {
+            totals[0] += millis;
+            totals[1]++;
+        }
+    }
+
+    // Blends this run's measurements into the history and writes it back; tests that did not run keep their entry.
+    public void save() throws IOException {
+        Map<String, Estimate> merged = new TreeMap<>(history);
+        for (Map.Entry<String, long[]> entry : current.entrySet()) {
+            long[] totals = entry.getValue();
+            int invocations;
+            long average;
+            synchronized (totals) {
+                invocations = (int) totals[1];
+                average = totals[0] / Math.max(1, totals[1]);
+            }
+            Estimate previous = history.get(entry.getKey());
+            if (previous != null) {
+                average = Math.round(SMOOTHING * average + (1 - SMOOTHING) * previous.avgMillis());
+            }
+            merged.put(entry.getKey(), new Estimate(average, invocations));
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+        // Sorted, without the timestamp Properties.store adds, so the file diffs cleanly when it is committed
+        List<String> lines = new ArrayList<>();
+        lines.add("# Average milliseconds per invocation, invocations in the last run (written by DurationScheduleListener)");
+        merged.forEach((test, estimate) -> lines.add(test + "=" + estimate.avgMillis() + "," + estimate.invocations()));
+        Path file = historyFile();
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines, StandardCharsets.ISO_8859_1);
+    }
+}
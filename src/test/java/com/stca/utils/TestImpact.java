@@ -0,0 +1,242 @@
+package com.stca.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+// Decides which test classes a change can affect, from the map in test-impact.properties: each class lists the
+// pages it drives and its data files, each page lists its sources and URL paths. The change comes from a list of
+// changed files (-Dimpact.changed, -Dimpact.changedFile or git diff against -Dimpact.since) and/or the pages whose
+// fingerprint changed (-Dimpact.pages). Anything the map cannot account for selects the whole suite.
+public class TestImpact {
+
+    public static final String CHANGED_PROPERTY = "impact.changed";
+    public static final String CHANGED_FILE_PROPERTY = "impact.changedFile";
+    public static final String SINCE_PROPERTY = "impact.since";
+    public static final String PAGES_PROPERTY = "impact.pages";
+    public static final String MAP_FILE_PROPERTY = "impact.map";
+
+    private static final String DEFAULT_MAP = "test-impact.properties";
+
+    private final Map<String, List<PathMatcher>> pageFiles = new LinkedHashMap<>();
+    private final Map<String, Set<String>> pagePaths = new LinkedHashMap<>();
+    private final Map<String, Set<String>> testPages = new LinkedHashMap<>();
+    private final Map<String, List<PathMatcher>> testFiles = new LinkedHashMap<>();
+    private final List<PathMatcher> always;
+    private final List<PathMatcher> ignore;
+
+    private TestImpact(Properties map) {
+        for (String key : map.stringPropertyNames()) {
+            String value = map.getProperty(key);
+            if (key.startsWith("page.") && key.endsWith(".files")) {
+                pageFiles.put(middle(key, "page.", ".files"), matchers(value));
+            } else if (key.startsWith("page.") && key.endsWith(".paths")) {
+                pagePaths.put(middle(key, "page.", ".paths"), split(value));
+            } else if (key.startsWith("test.") && key.endsWith(".pages")) {
+                testPages.put(middle(key, "test.", ".pages"), split(value));
+            } else if (key.startsWith("test.") && key.endsWith(".files")) {
+                testFiles.put(middle(key, "test.", ".files"), matchers(value));
+            } else if (!key.equals("always") && !key.equals("ignore")) {
+                throw new IllegalArgumentException("Unknown test-impact key: " + key);
+            }
+        }
+        always = matchers(map.getProperty("always", ""));
+        ignore = matchers(map.getProperty("ignore", ""));
+        for (Map.Entry<String, Set<String>> entry : testPages.entrySet()) {
+            for (String page : entry.getValue()) {
+                if (!pageFiles.containsKey(page) && !pagePaths.containsKey(page)) {
+                    throw new IllegalArgumentException("Test class " + entry.getKey() + " names unknown page '" + page + "'");
+                }
+            }
+        }
+    }
+
+    public static TestImpact load() {
+        Properties properties = new Properties();
+        String file = System.getProperty(MAP_FILE_PROPERTY);
+        try (InputStream in = file != null ? Files.newInputStream(Path.of(file))
+                : TestImpact.class.getClassLoader().getResourceAsStream(DEFAULT_MAP)) {
+            if (in == null) {
+                throw new IllegalStateException(DEFAULT_MAP + " not found on the test classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the test-impact map from " + (file != null ? file : DEFAULT_MAP), e);
+        }
+        return new TestImpact(properties);
+    }
+
+    // True when one of the impact.* properties is set, i.e. the run should be narrowed.
+    public static boolean requested() {
+        return System.getProperty(CHANGED_PROPERTY) != null || System.getProperty(CHANGED_FILE_PROPERTY) != null
+                || System.getProperty(SINCE_PROPERTY) != null || System.getProperty(PAGES_PROPERTY) != null;
+    }
+
+    // Changed files from every configured source, relative to the project root with '/' separators.
+    public static Set<String> changedFiles() {
+        Set<String> files = new LinkedHashSet<>(split(System.getProperty(CHANGED_PROPERTY, "")));
+        try {
+            String listFile = System.getProperty(CHANGED_FILE_PROPERTY);
+            if (listFile != null) {
+                files.addAll(split(Files.readString(Path.of(listFile), StandardCharsets.UTF_8).replace('\n', ',')));
+            }
+            String since = System.getProperty(SINCE_PROPERTY);
+            if (since != null) {
+                files.addAll(git("diff", "--name-only", since));
+                files.addAll(git("ls-files", "--others", "--exclude-standard"));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not determine the changed files", e);
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String file : files) {
+            normalized.add(file.replace('\\', '/'));
+        }
+        return normalized;
+    }
+
+    // Page names from -Dimpact.pages; URL paths such as /cart.html are translated to the page that serves them.
+    public Set<String> changedPages() {
+        Set<String> pages = new LinkedHashSet<>();
+        for (String page : split(System.getProperty(PAGES_PROPERTY, ""))) {
+            String name = page;
+            for (Map.Entry<String, Set<String>> entry : pagePaths.entrySet()) {
+                if (entry.getValue().contains(page)) {
+                    name = entry.getKey();
+                }
+            }
+            if (!pageFiles.containsKey(name) && !pagePaths.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown page '" + page + "' in -D" + PAGES_PROPERTY + ", expected one of " + pagePaths.keySet());
+            }
+            pages.add(name);
+        }
+        return pages;
+    }
+
+    // The subset of 'classes' affected by the change, or all of them when the change reaches shared code, a file the
+    // map does not know, or a class the map does not list. 'reasons' receives one line per decision.
+    public Set<String> select(List<String> classes, Set<String> changedFiles, Set<String> changedPages, List<String> reasons) {
+        Set<String> selected = new LinkedHashSet<>();
+        for (String className : classes) {
+            if (!testPages.containsKey(className) && !testFiles.containsKey(className)) {
+                reasons.add(className + " is not in the test-impact map; running everything");
+                return new LinkedHashSet<>(classes);
+            }
+        }
+
+        Set<String> pages = new LinkedHashSet<>(changedPages);
+        Set<String> directFiles = new LinkedHashSet<>();
+        for (String file : changedFiles) {
+            Path path = Path.of(file);
+            if (matchesAny(ignore, path)) {
+                continue;
+            }
+            boolean known = false;
+            for (Map.Entry<String, List<PathMatcher>> entry : pageFiles.entrySet()) {
+                if (matchesAny(entry.getValue(), path)) {
+                    pages.add(entry.getKey());
+                    known = true;
+                }
+            }
+            for (String className : classes) {
+                if (sourceFile(className).equals(file) || matchesAny(testFiles.getOrDefault(className, List.of()), path)) {
+                    known = true;
+                }
+            }
+            // An explicit page or test entry wins over the broad 'always' globs
+            if (!known && matchesAny(always, path)) {
+                reasons.add(file + " is shared by every test; running everything");
+                return new LinkedHashSet<>(classes);
+            }
+            if (!known) {
+                reasons.add(file + " is not covered by the test-impact map; running everything");
+                return new LinkedHashSet<>(classes);
+            }
+            directFiles.add(file);
+        }
+
+        for (String className : classes) {
+            for (String page : testPages.getOrDefault(className, Set.of())) {
+                if (pages.contains(page)) {
+                    selected.add(className);
+                    reasons.add(className + " <- page " + page);
+                    break;
+                }
+            }
+            if (selected.contains(className)) {
+                continue;
+            }
+            for (String file : directFiles) {
+                if (sourceFile(className).equals(file) || matchesAny(testFiles.getOrDefault(className, List.of()), Path.of(file))) {
+                    selected.add(className);
+                    reasons.add(className + " <- " + file);
+                    break;
+                }
+            }
+        }
+        return selected;
+    }
+
+    private static String sourceFile(String className) {
+        return "src/test/java/" + className.replace('.', '/') + ".java";
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + " failed: " + output.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running " + String.join(" ", command), e);
+        }
+        return List.copyOf(split(output.replace('\n', ',')));
+    }
+
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathMatcher> matchers(String globs) {
+        List<PathMatcher> matchers = new ArrayList<>();
+        for (String glob : split(globs)) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        }
+        return matchers;
+    }
+
+    private static Set<String> split(String value) {
+        Set<String> parts = new LinkedHashSet<>();
+        for (String part : value.split(",")) {
+            if (!part.isBlank()) {
+                parts.add(part.trim());
+            }
+        }
+        return parts;
+    }
+
+    private static String middle(String key, String prefix, String suffix) {
+        return key.substring(prefix.length(), key.length() - suffix.length());
+    }
+}
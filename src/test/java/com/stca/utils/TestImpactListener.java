@@ -0,0 +1,47 @@
+package com.stca.utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// With any of the -Dimpact.* properties, removes the test classes TestImpact finds unaffected from the suite before
+// it runs, so their browsers, logins and data files are never touched. Without them the suite is left as it is.
+public class TestImpactListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!TestImpact.requested()) {
+            return;
+        }
+        TestImpact impact = TestImpact.load();
+        Set<String> changedFiles = TestImpact.changedFiles();
+        Set<String> changedPages = impact.changedPages();
+        System.out.println("Test impact: " + changedFiles.size() + " changed file(s), pages " + changedPages);
+
+        for (XmlSuite suite : suites) {
+            for (XmlTest test : suite.getTests()) {
+                List<String> classes = new ArrayList<>();
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    classes.add(xmlClass.getName());
+                }
+                List<String> reasons = new ArrayList<>();
+                Set<String> selected = impact.select(classes, changedFiles, changedPages, reasons);
+                reasons.forEach(reason -> System.out.println("  " + reason));
+
+                List<XmlClass> kept = new ArrayList<>();
+                for (XmlClass xmlClass : test.getXmlClasses()) {
+                    if (selected.contains(xmlClass.getName())) {
+                        kept.add(xmlClass);
+                    }
+                }
+                test.setXmlClasses(kept);
+                System.out.println("Test impact: running " + kept.size() + " of " + classes.size() + " class(es) in '" + test.getName() + "'.");
+            }
+        }
+    }
+}
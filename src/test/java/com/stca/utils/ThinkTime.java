@@ -0,0 +1,76 @@
+package com.stca.utils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Pause a simulated shopper takes between steps in load mode. Specs:
+//   none | fixed:300 | uniform:200..800 | exp:500 (exponential with a 500 ms mean, capped at 10x the mean)
+public class ThinkTime {
+
+    private final String kind;
+    private final long a;
+    private final long b;
+
+    private ThinkTime(String kind, long a, long b) {
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    public static ThinkTime parse(String spec) {
+        String value = spec == null ? "none" : spec.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (value.isEmpty() || value.equals("none")) {
+                return new ThinkTime("none", 0, 0);
+            }
+            String[] parts = value.split(":", 2);
+            switch (parts[0]) {
+                case "fixed":
+                    return new ThinkTime("fixed", Long.parseLong(parts[1]), 0);
+                case "uniform":
+                    String[] bounds = parts[1].split("\\.\\.");
+                    long low = Long.parseLong(bounds[0]);
+                    long high = Long.parseLong(bounds[1]);
+                    if (high < low) {
+                        throw new IllegalArgumentException("upper bound below lower bound");
+                    }
+                    return new ThinkTime("uniform", low, high);
+                case "exp":
+                    return new ThinkTime("exp", Long.parseLong(parts[1]), 0);
+                default:
+                    throw new IllegalArgumentException("unknown distribution " + parts[0]);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid think time '" + spec + "', expected none, fixed:MS, uniform:MIN..MAX or exp:MEAN", e);
+        }
+    }
+
+    public Duration next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (kind) {
+            case "fixed" -> Duration.ofMillis(a);
+            case "uniform" -> Duration.ofMillis(random.nextLong(a, b + 1));
+            case "exp" -> Duration.ofMillis(Math.min(10 * a, Math.round(-a * Math.log(1 - random.nextDouble()))));
+            default -> Duration.ZERO;
+        };
+    }
+
+    // Deliberate pacing between simulated user actions, not a synchronization wait.
+    public void pause() throws InterruptedException {
+        long millis = next().toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case "fixed" -> "fixed:" + a;
+            case "uniform" -> "uniform:" + a + ".." + b;
+            case "exp" -> "exp:" + a;
+            default -> "none";
+        };
+    }
+}
@@ -0,0 +1,346 @@
+// Minimal replica of the SauceDemo pages used by the suite. Session and cart state live in the same places as on
+// the real site (the session-username cookie and the cart-contents localStorage entry), so cookie injection and
+// DriverPool's session reset behave identically against both.
+(function () {
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+
+    var PRODUCTS = [
+        { id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.' },
+        { id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night." },
+        { id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt.' },
+        { id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office." },
+        { id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: "Rib snap infant onesie for the junior automation engineer in development." },
+        { id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests.' }
+    ];
+
+    var SORTS = {
+        az: function (a, b) { return a.name.localeCompare(b.name); },
+        za: function (a, b) { return b.name.localeCompare(a.name); },
+        lohi: function (a, b) { return a.price - b.price; },
+        hilo: function (a, b) { return b.price - a.price; }
+    };
+
+    var root = document.getElementById('root');
+
+    function slug(product) {
+        return product.name.toLowerCase().replace(/\s+/g, '-');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function escapeHtml(text) {
+        return String(text).replace(/[&<>"']/g, function (c) {
+            return { '&': '&amp;', '<': '&lt;', '>': '&gt;', '"': '&quot;', "'": '&#39;' }[c];
+        });
+    }
+
+    function sessionUser() {
+        var match = document.cookie.match(/(?:^|;\s*)session-username=([^;]*)/);
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function cart() {
+        try {
+            return JSON.parse(window.localStorage.getItem('cart-contents') || '[]');
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function saveCart(ids) {
+        if (ids.length) {
+            window.localStorage.setItem('cart-contents', JSON.stringify(ids));
+        } else {
+            window.localStorage.removeItem('cart-contents');
+        }
+        updateBadge();
+    }
+
+    function inCart(product) {
+        return cart().indexOf(product.id) >= 0;
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    // ---- header ----
+
+    function header(title) {
+        return '<div class="primary_header">'
+            + '<div class="app_logo">Swag Labs</div>'
+            + '<div><a href="#" id="logout_sidebar_link">Logout</a>'
+            + '<a class="shopping_cart_link" href="/cart.html" data-test="shopping-cart-link"></a></div>'
+            + '</div>'
+            + '<div class="header_secondary_container"><span class="title" data-test="title">' + title + '</span>'
+            + '<span id="secondary_slot"></span></div>';
+    }
+
+    function bindHeader() {
+        document.getElementById('logout_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            document.cookie = 'session-username=; path=/; expires=Thu, 01 Jan 1970 00:00:00 GMT';
+            window.localStorage.removeItem('cart-contents');
+            go('/');
+        });
+        updateBadge();
+    }
+
+    function updateBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        if (!link) {
+            return;
+        }
+        var count = cart().length;
+        var badge = link.querySelector('.shopping_cart_badge');
+        if (!count) {
+            if (badge) {
+                badge.remove();
+            }
+            return;
+        }
+        if (!badge) {
+            badge = document.createElement('span');
+            badge.className = 'shopping_cart_badge';
+            badge.setAttribute('data-test', 'shopping-cart-badge');
+            link.appendChild(badge);
+        }
+        badge.textContent = String(count);
+    }
+
+    function errorBox(message) {
+        return '<div class="error-message-container error"><h3 data-test="error">' + escapeHtml(message) + '</h3></div>';
+    }
+
+    // ---- pages ----
+
+    function renderLogin(message) {
+        root.innerHTML = '<div class="login_wrapper">'
+            + '<div class="login_logo">Swag Labs</div>'
+            + '<form id="login_form">'
+            + '<input class="input_error form_input" placeholder="Username" type="text" id="user-name" name="user-name" data-test="username" autocorrect="off" autocapitalize="none">'
+            + '<input class="input_error form_input" placeholder="Password" type="password" id="password" name="password" data-test="password" autocorrect="off" autocapitalize="none">'
+            + '<div id="login_error">' + (message ? errorBox(message) : '') + '</div>'
+            + '<input type="submit" class="submit-button btn_action" data-test="login-button" id="login-button" name="login-button" value="Login">'
+            + '</form></div>';
+
+        document.getElementById('login_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            var error = null;
+            if (!username) {
+                error = 'Epic sadface: Username is required';
+            } else if (!password) {
+                error = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                error = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (username === 'locked_out_user') {
+                error = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+            if (error) {
+                document.getElementById('login_error').innerHTML = errorBox(error);
+                return;
+            }
+            document.cookie = 'session-username=' + encodeURIComponent(username) + '; path=/; max-age=600';
+            go('/inventory.html');
+        });
+    }
+
+    function productButton(product) {
+        var added = inCart(product);
+        var id = (added ? 'remove-' : 'add-to-cart-') + slug(product);
+        return '<button class="btn btn_small btn_inventory" data-product="' + product.id + '" id="' + escapeHtml(id)
+            + '" name="' + escapeHtml(id) + '" data-test="' + escapeHtml(id) + '">' + (added ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    // Toggles the clicked button in place rather than re-rendering the list, so a batch of clicks over a
+    // previously queried set of buttons (see BulkDom.clickAll) keeps working on attached elements.
+    function toggle(button) {
+        var product = PRODUCTS.filter(function (p) { return p.id === Number(button.getAttribute('data-product')); })[0];
+        var ids = cart();
+        var index = ids.indexOf(product.id);
+        if (index >= 0) {
+            ids.splice(index, 1);
+        } else {
+            ids.push(product.id);
+        }
+        saveCart(ids);
+        var added = index < 0;
+        var id = (added ? 'remove-' : 'add-to-cart-') + slug(product);
+        button.id = id;
+        button.name = id;
+        button.setAttribute('data-test', id);
+        button.textContent = added ? 'Remove' : 'Add to cart';
+    }
+
+    function itemRow(product, rowClass, withButton) {
+        return '<div class="' + rowClass + '" data-test="inventory-item">'
+            + (rowClass === 'cart_item' ? '<div class="cart_quantity" data-test="item-quantity">1</div>' : '')
+            + '<div class="inventory_item_description"><div class="inventory_item_label">'
+            + '<a href="#" id="item_' + product.id + '_title_link"><div class="inventory_item_name" data-test="inventory-item-name">'
+            + escapeHtml(product.name) + '</div></a>'
+            + '<div class="inventory_item_desc" data-test="inventory-item-desc">' + escapeHtml(product.desc) + '</div></div>'
+            + '<div class="pricebar item_pricebar"><div class="inventory_item_price" data-test="inventory-item-price">' + money(product.price) + '</div>'
+            + (withButton ? productButton(product) : '') + '</div></div></div>';
+    }
+
+    function renderInventory() {
+        root.innerHTML = '<div id="page_wrapper">' + header('Products')
+            + '<div id="inventory_container"><div class="inventory_list" data-test="inventory-list"></div></div></div>';
+
+        document.getElementById('secondary_slot').innerHTML = '<select class="product_sort_container" data-test="product-sort-container">'
+            + '<option value="az">Name (A to Z)</option><option value="za">Name (Z to A)</option>'
+            + '<option value="lohi">Price (low to high)</option><option value="hilo">Price (high to low)</option></select>';
+        var select = document.querySelector('.product_sort_container');
+        select.addEventListener('change', function () {
+            renderList(select.value);
+        });
+
+        var list = document.querySelector('.inventory_list');
+        list.addEventListener('click', function (event) {
+            var button = event.target.closest('button[data-product]');
+            if (button) {
+                toggle(button);
+            }
+        });
+
+        function renderList(order) {
+            list.innerHTML = PRODUCTS.slice().sort(SORTS[order] || SORTS.az)
+                .map(function (p) { return itemRow(p, 'inventory_item', true); }).join('');
+        }
+
+        renderList('az');
+        bindHeader();
+    }
+
+    function cartProducts() {
+        var ids = cart();
+        return ids.map(function (id) {
+            return PRODUCTS.filter(function (p) { return p.id === id; })[0];
+        }).filter(Boolean);
+    }
+
+    function renderCart() {
+        root.innerHTML = '<div id="page_wrapper">' + header('Your Cart')
+            + '<div id="cart_contents_container"><div class="cart_list" data-test="cart-list">'
+            + '<div class="cart_quantity_label">QTY</div><div class="cart_desc_label">Description</div>'
+            + cartProducts().map(function (p) { return itemRow(p, 'cart_item', true); }).join('')
+            + '</div><div class="cart_footer">'
+            + '<button class="btn btn_secondary back" id="continue-shopping" data-test="continue-shopping">Continue Shopping</button>'
+            + '<button class="btn btn_action checkout_button" id="checkout" data-test="checkout">Checkout</button>'
+            + '</div></div></div>';
+
+        document.querySelector('.cart_list').addEventListener('click', function (event) {
+            var button = event.target.closest('button[data-product]');
+            if (button) {
+                toggle(button);
+                button.closest('.cart_item').remove();
+            }
+        });
+        document.getElementById('continue-shopping').addEventListener('click', function () { go('/inventory.html'); });
+        document.getElementById('checkout').addEventListener('click', function () { go('/checkout-step-one.html'); });
+        bindHeader();
+    }
+
+    function renderCheckoutStepOne() {
+        root.innerHTML = '<div id="page_wrapper">' + header('Checkout: Your Information')
+            + '<div class="checkout_info_container"><form id="checkout_form"><div class="checkout_info">'
+            + '<input class="input_error form_input" placeholder="First Name" type="text" id="first-name" name="firstName" data-test="firstName">'
+            + '<input class="input_error form_input" placeholder="Last Name" type="text" id="last-name" name="lastName" data-test="lastName">'
+            + '<input class="input_error form_input" placeholder="Zip/Postal Code" type="text" id="postal-code" name="postalCode" data-test="postalCode">'
+            + '<div id="checkout_error"></div></div>'
+            + '<div class="checkout_buttons">'
+            + '<button class="btn btn_secondary back cart_cancel_link" id="cancel" data-test="cancel" type="button">Cancel</button>'
+            + '<input type="submit" class="submit-button btn btn_primary cart_button btn_action" data-test="continue" id="continue" name="continue" value="Continue">'
+            + '</div></form></div></div>';
+
+        document.getElementById('checkout_form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var error = null;
+            if (!document.getElementById('first-name').value) {
+                error = 'Error: First Name is required';
+            } else if (!document.getElementById('last-name').value) {
+                error = 'Error: Last Name is required';
+            } else if (!document.getElementById('postal-code').value) {
+                error = 'Error: Postal Code is required';
+            }
+            if (error) {
+                document.getElementById('checkout_error').innerHTML = errorBox(error);
+                return;
+            }
+            go('/checkout-step-two.html');
+        });
+        document.getElementById('cancel').addEventListener('click', function () { go('/cart.html'); });
+        bindHeader();
+    }
+
+    function renderCheckoutStepTwo() {
+        var products = cartProducts();
+        var subtotal = products.reduce(function (sum, p) { return sum + p.price; }, 0);
+        var tax = Math.round(subtotal * 8) / 100;
+        root.innerHTML = '<div id="page_wrapper">' + header('Checkout: Overview')
+            + '<div id="checkout_summary_container" class="checkout_summary_container"><div class="cart_list" data-test="cart-list">'
+            + products.map(function (p) { return itemRow(p, 'cart_item', false); }).join('')
+            + '</div><div class="summary_info">'
+            + '<div class="summary_info_label" data-test="payment-info-label">Payment Information:</div>'
+            + '<div class="summary_value_label" data-test="payment-info-value">SauceCard #31337</div>'
+            + '<div class="summary_info_label" data-test="shipping-info-label">Shipping Information:</div>'
+            + '<div class="summary_value_label" data-test="shipping-info-value">Free Pony Express Delivery!</div>'
+            + '<div class="summary_subtotal_label" data-test="subtotal-label">Item total: ' + money(subtotal) + '</div>'
+            + '<div class="summary_tax_label" data-test="tax-label">Tax: ' + money(tax) + '</div>'
+            + '<div class="summary_total_label" data-test="total-label">Total: ' + money(subtotal + tax) + '</div>'
+            + '<div class="cart_footer">'
+            + '<button class="btn btn_secondary back cart_cancel_link" id="cancel" data-test="cancel">Cancel</button>'
+            + '<button class="btn btn_action cart_button" id="finish" data-test="finish">Finish</button>'
+            + '</div></div></div></div>';
+
+        document.getElementById('cancel').addEventListener('click', function () { go('/inventory.html'); });
+        document.getElementById('finish').addEventListener('click', function () {
+            saveCart([]);
+            go('/checkout-complete.html');
+        });
+        bindHeader();
+    }
+
+    function renderCheckoutComplete() {
+        root.innerHTML = '<div id="page_wrapper">' + header('Checkout: Complete!')
+            + '<div id="checkout_complete_container" class="checkout_complete_container">'
+            + '<h2 class="complete-header" data-test="complete-header">Thank you for your order!</h2>'
+            + '<div class="complete-text" data-test="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>'
+            + '<button class="btn btn_primary btn_small" id="back-to-products" data-test="back-to-products">Back Home</button>'
+            + '</div></div>';
+
+        document.getElementById('back-to-products').addEventListener('click', function () { go('/inventory.html'); });
+        bindHeader();
+    }
+
+    var ROUTES = {
+        '/inventory.html': renderInventory,
+        '/cart.html': renderCart,
+        '/checkout-step-one.html': renderCheckoutStepOne,
+        '/checkout-step-two.html': renderCheckoutStepTwo,
+        '/checkout-complete.html': renderCheckoutComplete
+    };
+
+    var path = window.location.pathname;
+    var page = ROUTES[path];
+    if (!page) {
+        renderLogin(null);
+    } else if (!sessionUser()) {
+        // Like the real site: protected pages bounce to the login page with an explanation
+        window.history.replaceState(null, '', '/');
+        renderLogin("Epic sadface: You can only access '" + path + "' when you are logged in.");
+    } else {
+        page();
+    }
+})();